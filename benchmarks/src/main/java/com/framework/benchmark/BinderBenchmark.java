@@ -0,0 +1,79 @@
+package com.framework.benchmark;
+
+import com.framework.benchmark.controllers.Emp;
+import com.framework.util.ParameterBinder;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Liaison des paramètres de la requête aux arguments d'une méthode :
+ * scalaires (String, int, double), objet (emp.name, ...) et tableau (emp[0].name, ...).
+ *
+ * Le plan compilé utilisé par FrontServlet (scalaires uniquement) est mesuré à part :
+ * {@link BindingPlanBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+    @Param({"scalar", "object", "array"})
+    String shape;
+
+    /** Nombre d'éléments du tableau (shape = array). */
+    @Param({"10"})
+    int elements;
+
+    public static class Target {
+        public void scalar(String name, int id, double salary) {
+        }
+
+        public void object(Emp emp) {
+        }
+
+        public void array(Emp[] emp) {
+        }
+    }
+
+    private Parameter[] parameters;
+    private MockRequest request;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        request = new MockRequest("POST", "/front/save");
+        Method method;
+        switch (shape) {
+            case "scalar":
+                method = Target.class.getMethod("scalar", String.class, int.class, double.class);
+                request.param("name", "Rakoto").param("id", "42").param("salary", "2500.5");
+                break;
+            case "object":
+                method = Target.class.getMethod("object", Emp.class);
+                request.param("emp.id", "42").param("emp.name", "Rakoto")
+                        .param("emp.salary", "2500.5").param("emp.active", "true");
+                break;
+            case "array":
+                method = Target.class.getMethod("array", Emp[].class);
+                for (int i = 0; i < elements; i++) {
+                    request.param("emp[" + i + "].id", String.valueOf(i))
+                            .param("emp[" + i + "].name", "Employé " + i)
+                            .param("emp[" + i + "].salary", "2500.5")
+                            .param("emp[" + i + "].active", "true");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+        parameters = method.getParameters();
+    }
+
+    @Benchmark
+    public Object[] parameterBinder() {
+        return ParameterBinder.bindParameters(parameters, request);
+    }
+}
@@ -0,0 +1,42 @@
+package com.framework.benchmark;
+
+import com.framework.dispatcher.BindingPlan;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Liaison par le plan compilé à l'init (BindingPlan), celle de FrontServlet pour chaque
+ * requête : variable du path et paramètres scalaires de la query string.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingPlanBenchmark {
+
+    public static class Target {
+        public void update(int id, String name, double salary, boolean active) {
+        }
+    }
+
+    private BindingPlan plan;
+    private MockRequest request;
+    private final String[] pathValues = {"42"};
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        plan = BindingPlan.compile(
+                Target.class.getMethod("update", int.class, String.class, double.class, boolean.class),
+                List.of("id"), 1024 * 1024);
+        request = new MockRequest("GET", "/front/emp/42/update")
+                .param("name", "Rakoto").param("salary", "2500.5").param("active", "true");
+    }
+
+    @Benchmark
+    public Object[] bind() {
+        return plan.bind(request, pathValues);
+    }
+}
@@ -0,0 +1,83 @@
+package com.framework.benchmark;
+
+import com.framework.benchmark.controllers.Dept;
+import com.framework.benchmark.controllers.Emp;
+import com.framework.dispatcher.CompressionResponse;
+import com.framework.dispatcher.DeflaterPool;
+import com.framework.util.ApiResponse;
+import com.framework.util.JsonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compression d'une réponse JSON (environ 64 Ko) par CompressionResponse, selon le niveau
+ * (framework.compression.level) et l'encodage.
+ *
+ * Les compteurs inputBytes / outputBytes sont rapportés en octets par seconde : débit
+ * d'entrée et volume envoyé. Le benchmark étant mono-thread, ops/s donne directement le
+ * temps CPU par réponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"1", "6", "9"})
+    int level;
+
+    @Param({"GZIP", "DEFLATE"})
+    CompressionResponse.Encoding encoding;
+
+    private static final int CHUNK = 8192;
+
+    private DeflaterPool pool;
+    private byte[] payload;
+    private MockResponse response;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long inputBytes;
+        public long outputBytes;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        pool = new DeflaterPool(level, 4);
+        Dept dept = new Dept(1, "Informatique");
+        List<Emp> emps = new ArrayList<>();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (int i = 0; buffer.size() < 64 * 1024; i++) {
+            emps.add(new Emp(i, "Employé " + i, 2500.5 + i, dept));
+            if (i % 50 == 49) {
+                buffer.reset();
+                try (JsonWriter json = new JsonWriter(buffer)) {
+                    json.writeValue(ApiResponse.success(emps));
+                }
+            }
+        }
+        payload = buffer.toByteArray();
+        response = new MockResponse();
+    }
+
+    @Benchmark
+    public long compress(Bytes bytes) throws IOException {
+        response.reset();
+        CompressionResponse compressed = new CompressionResponse(response, encoding, pool, 1024);
+        for (int off = 0; off < payload.length; off += CHUNK) {
+            compressed.getOutputStream().write(payload, off, Math.min(CHUNK, payload.length - off));
+        }
+        compressed.finish();
+        long written = response.getBytesWritten();
+        bytes.inputBytes += payload.length;
+        bytes.outputBytes += written;
+        return written;
+    }
+}
@@ -0,0 +1,69 @@
+package com.framework.benchmark;
+
+import com.framework.servlet.FrontServlet;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Chemin complet d'une requête dans FrontServlet.service() (routage, liaison, invocation,
+ * rendu), avec une requête et une réponse en mémoire :
+ * - emp : GET /front/emp/{id}, petit objet JSON
+ * - emps : GET /front/emps?count=100, liste JSON
+ * - hello : GET /front/hello?name=..., page String
+ *
+ * Comparé pour les deux modes d'invocation (framework.invoker).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"emp", "emps", "hello"})
+    String route;
+
+    @Param({"methodhandle", "reflection"})
+    String invoker;
+
+    private FrontServlet servlet;
+    private MockRequest request;
+    private MockResponse response;
+
+    @Setup
+    public void setup() throws ServletException {
+        servlet = ServletFixture.start(Map.of("framework.invoker", invoker));
+        request = request(route);
+        response = new MockResponse();
+    }
+
+    static MockRequest request(String route) {
+        switch (route) {
+            case "emp":
+                return new MockRequest("GET", "/front/emp/42");
+            case "emps":
+                return new MockRequest("GET", "/front/emps").param("count", "100");
+            case "hello":
+                return new MockRequest("GET", "/front/hello").param("name", "Rakoto");
+            default:
+                throw new IllegalArgumentException(route);
+        }
+    }
+
+    @Benchmark
+    public long service() throws ServletException, IOException {
+        request.reset();
+        response.reset();
+        servlet.service(request, response);
+        return response.getBytesWritten();
+    }
+
+    @TearDown
+    public void tearDown() {
+        servlet.destroy();
+    }
+}
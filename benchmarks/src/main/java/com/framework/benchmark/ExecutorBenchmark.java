@@ -0,0 +1,71 @@
+package com.framework.benchmark;
+
+import com.framework.dispatcher.BlockingExecutor;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Exécuteur des routes @VirtualThread : un lot de tâches qui simulent une E/S bloquante
+ * (parkNanos) sur un pool de threads plateforme ou sur des threads virtuels.
+ * Le score est la durée du lot : avec le pool, elle croît dès que tasks dépasse poolSize.
+ *
+ * virtual exige Java 21 ; sur une JVM plus ancienne, l'essai échoue au lieu de mesurer
+ * le pool de repli.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    @Param({"200"})
+    int poolSize;
+
+    @Param({"1000"})
+    int tasks;
+
+    /** Durée de l'E/S simulée, en microsecondes. */
+    @Param({"1000"})
+    long ioMicros;
+
+    private BlockingExecutor executor;
+
+    @Setup
+    public void setup() {
+        if (threads.equals("virtual")) {
+            executor = BlockingExecutor.virtualOrPlatform(poolSize);
+            if (!executor.isVirtual()) {
+                executor.shutdown(1000);
+                throw new IllegalStateException("Threads virtuels indisponibles sur Java "
+                        + Runtime.version().feature() + " (Java 21 requis)");
+            }
+        } else {
+            executor = BlockingExecutor.platform(poolSize);
+        }
+    }
+
+    @Benchmark
+    public void batch() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        long ioNanos = ioMicros * 1000;
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                LockSupport.parkNanos(ioNanos);
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown(1000);
+    }
+}
@@ -0,0 +1,87 @@
+package com.framework.benchmark;
+
+import com.framework.util.JsonSerializer;
+import com.framework.util.JsonWriter;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Accès aux champs d'un objet plat de huit int, écrit en JSON :
+ * - serializer : JsonSerializer, getters MethodHandle constants (une classe cachée par champ)
+ * - reflection : Field.getInt
+ * - handles : getters MethodHandle lus dans un tableau, non constants pour le JIT
+ * Les deux derniers échappent les noms (un caractère) à chaque écriture, le sérialiseur les
+ * a déjà encodés. Les nombres écrits sont petits : le coût mesuré est surtout celui des accès.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAccessBenchmark {
+
+    public static class Flat {
+        int a = 1;
+        int b = 2;
+        int c = 3;
+        int d = 4;
+        int e = 5;
+        int f = 6;
+        int g = 7;
+        int h = 8;
+    }
+
+    private Flat flat;
+    private JsonSerializer serializer;
+    private Field[] fields;
+    private MethodHandle[] getters;
+    private JsonWriter writer;
+
+    @Setup
+    public void setup() throws IllegalAccessException {
+        flat = new Flat();
+        serializer = JsonSerializer.forClass(Flat.class);
+        fields = Flat.class.getDeclaredFields();
+        getters = new MethodHandle[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].setAccessible(true);
+            getters[i] = MethodHandles.lookup().unreflectGetter(fields[i])
+                    .asType(MethodType.methodType(long.class, Object.class));
+        }
+        writer = new JsonWriter(new JsonBenchmark.CountingOutputStream());
+    }
+
+    @Benchmark
+    public JsonWriter serializer() throws IOException {
+        serializer.write(flat, writer);
+        return writer;
+    }
+
+    @Benchmark
+    public JsonWriter reflection() throws IOException, IllegalAccessException {
+        writer.beginObject();
+        for (Field field : fields) {
+            writer.name(field.getName());
+            writer.value(field.getInt(flat));
+        }
+        writer.endObject();
+        return writer;
+    }
+
+    @Benchmark
+    public JsonWriter handles() throws Throwable {
+        writer.beginObject();
+        for (int i = 0; i < fields.length; i++) {
+            writer.name(fields[i].getName());
+            writer.value((long) getters[i].invokeExact((Object) flat));
+        }
+        writer.endObject();
+        return writer;
+    }
+}
@@ -0,0 +1,39 @@
+package com.framework.benchmark;
+
+import com.framework.benchmark.controllers.BenchController;
+import com.framework.benchmark.controllers.Emp;
+import com.framework.dispatcher.MethodInvoker;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Appel seul d'une méthode de contrôleur par son MethodInvoker, sans routage, liaison
+ * ni rendu (noyés dans DispatchBenchmark) : GET /emp/{id} avec un argument déjà converti.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+    @Param({"methodhandle", "reflection"})
+    String invoker;
+
+    private MethodInvoker target;
+    private Object[] args;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        target = MethodInvoker.create(BenchController.class.getMethod("emp", int.class), new BenchController(),
+                MethodInvoker.Mode.parse(invoker));
+        args = new Object[] {42};
+    }
+
+    @Benchmark
+    public int invoke() throws InvocationTargetException, IllegalAccessException {
+        return ((Emp) target.invoke(args)).getId();
+    }
+}
@@ -0,0 +1,105 @@
+package com.framework.benchmark;
+
+import com.framework.benchmark.controllers.Dept;
+import com.framework.benchmark.controllers.Emp;
+import com.framework.util.ApiResponse;
+import com.framework.util.JsonDeserializer;
+import com.framework.util.JsonReader;
+import com.framework.util.JsonWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Sérialisation JSON d'une réponse @API (enveloppe ApiResponse comprise) vers un flux,
+ * et lecture en streaming du même graphe depuis un corps de requête :
+ * small = un Emp et son Dept, large = une liste de 1000 Emp.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"small", "large"})
+    String graph;
+
+    private Map<String, Object> body;
+    private CountingOutputStream out;
+    private byte[] requestBody;
+    private JsonDeserializer deserializer;
+
+    // Porte le type générique List<Emp>, comme un paramètre de contrôleur
+    private static List<Emp> listOfEmp;
+
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Dept dept = new Dept(1, "Informatique");
+        Object data;
+        if (graph.equals("small")) {
+            data = new Emp(1, "Rakoto", 2500.5, dept);
+        } else {
+            List<Emp> emps = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                emps.add(new Emp(i, "Employé \"" + i + "\"", 2500.5 + i, dept));
+            }
+            data = emps;
+        }
+        body = ApiResponse.success(data);
+        out = new CountingOutputStream();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonWriter json = new JsonWriter(bytes)) {
+            json.writeValue(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        requestBody = bytes.toByteArray();
+        Type type;
+        try {
+            type = graph.equals("small") ? Emp.class : JsonBenchmark.class.getDeclaredField("listOfEmp").getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        deserializer = JsonDeserializer.forType(type);
+    }
+
+    @Benchmark
+    public long writeValue() throws IOException {
+        out.count = 0;
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.writeValue(body);
+        }
+        return out.count;
+    }
+
+    @Benchmark
+    public Object readValue() throws IOException {
+        try (JsonReader json = new JsonReader(new ByteArrayInputStream(requestBody))) {
+            return deserializer.read(json);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.framework.benchmark;
+
+import com.framework.servlet.FrontServlet;
+import com.framework.util.Log;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Coût du logging sur le chemin d'une requête (GET /front/emp/{id}) selon le niveau :
+ * OFF, INFO (défaut : les traces du dispatch sont désactivées) et DEBUG (toutes les
+ * traces formatées et déposées dans le ring buffer).
+ *
+ * En DEBUG, la sortie du thread d'écriture est jetée (System.out / System.err) : seul
+ * le coût côté requête est mesuré. Le compteur de messages perdus est affiché en fin d'essai.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"OFF", "INFO", "DEBUG"})
+    String level;
+
+    private FrontServlet servlet;
+    private MockRequest request;
+    private MockResponse response;
+    private PrintStream stdout;
+    private PrintStream stderr;
+
+    @Setup
+    public void setup() throws ServletException {
+        stdout = System.out;
+        stderr = System.err;
+        if (level.equals("DEBUG")) {
+            PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+            System.setOut(discard);
+            System.setErr(discard);
+        }
+        servlet = ServletFixture.start(Map.of("framework.log.level", level));
+        request = DispatchBenchmark.request("emp");
+        response = new MockResponse();
+    }
+
+    @Benchmark
+    public long service() throws ServletException, IOException {
+        request.reset();
+        response.reset();
+        servlet.service(request, response);
+        return response.getBytesWritten();
+    }
+
+    @TearDown
+    public void tearDown() {
+        servlet.destroy();
+        System.setOut(stdout);
+        System.setErr(stderr);
+        System.out.println("Messages perdus (buffer plein) : " + Log.getDroppedCount());
+    }
+}
@@ -0,0 +1,170 @@
+package com.framework.benchmark;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Réponse en mémoire : le corps n'est pas conservé, seul le nombre d'octets écrits
+ * est compté. Réutilisable d'une invocation à l'autre ({@link #reset()}).
+ */
+public final class MockResponse extends HttpServletResponseWrapper {
+
+    private final Map<String, String> headers = new HashMap<>();
+    private final CountingStream stream = new CountingStream();
+    private PrintWriter writer;
+    private int status = SC_OK;
+    private String contentType;
+
+    public MockResponse() {
+        super(Unsupported.of(HttpServletResponse.class));
+    }
+
+    @Override
+    public void reset() {
+        headers.clear();
+        // Le writer est gardé : son encodeur (8 Ko) n'est pas le coût mesuré
+        if (writer != null) {
+            writer.flush();
+        }
+        stream.count = 0;
+        status = SC_OK;
+        contentType = null;
+    }
+
+    /**
+     * @return Le nombre d'octets du corps écrits depuis le dernier reset()
+     */
+    public long getBytesWritten() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return stream.count;
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int sc) {
+        status = sc;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        status = sc;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        headers.put(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        headers.merge(name, value, (previous, added) -> previous + ", " + added);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        headers.put(name, String.valueOf(value));
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public void setContentType(String type) {
+        contentType = type;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return "UTF-8";
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        }
+        return writer;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private static final class CountingStream extends ServletOutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.framework.benchmark;
+
+import com.framework.annotation.HttpMethod;
+import com.framework.dispatcher.Router;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Résolution d'une route parmi N, patterns littéraux ou à variables ({param}).
+ * Les chemins cherchés couvrent le début, le milieu et la fin de la table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int routes;
+
+    @Param({"literal", "param"})
+    String kind;
+
+    private Router<Integer> router;
+    private String[] paths;
+    private int next;
+
+    @Setup
+    public void setup() {
+        router = new Router<>();
+        for (int i = 0; i < routes; i++) {
+            String pattern = kind.equals("literal")
+                    ? "/api/resource" + i + "/items"
+                    : "/api/resource" + i + "/{id}/items/{item}";
+            router.add(HttpMethod.GET, pattern, i);
+        }
+        int[] targets = {0, routes / 2, routes - 1};
+        paths = new String[targets.length];
+        for (int t = 0; t < targets.length; t++) {
+            paths[t] = kind.equals("literal")
+                    ? "/api/resource" + targets[t] + "/items"
+                    : "/api/resource" + targets[t] + "/42/items/7";
+        }
+    }
+
+    @Benchmark
+    public Router.Match<Integer> match() {
+        String path = paths[next];
+        next = next == paths.length - 1 ? 0 : next + 1;
+        return router.match(HttpMethod.GET, path);
+    }
+
+    @Benchmark
+    public Router.Match<Integer> miss() {
+        return router.match(HttpMethod.GET, "/api/unknown/route");
+    }
+}
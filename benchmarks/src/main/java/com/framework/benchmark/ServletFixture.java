@@ -0,0 +1,81 @@
+package com.framework.benchmark;
+
+import com.framework.servlet.FrontServlet;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FrontServlet initialisé hors conteneur, sur les contrôleurs de
+ * com.framework.benchmark.controllers.
+ */
+final class ServletFixture {
+
+    private ServletFixture() {
+    }
+
+    /**
+     * @param initParams Paramètres d'init supplémentaires (framework.invoker, framework.log.level, ...)
+     */
+    static FrontServlet start(Map<String, String> initParams) throws ServletException {
+        Map<String, String> params = new HashMap<>(initParams);
+        params.putIfAbsent("framework.scan.packages", "com.framework.benchmark.controllers");
+        params.putIfAbsent("framework.log.level", "WARN");
+
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        // getAttribute est appelé à chaque requête : testé en premier
+        ServletContext context = (ServletContext) Proxy.newProxyInstance(ServletFixture.class.getClassLoader(),
+                new Class<?>[] {ServletContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAttribute":
+                            return attributes.get((String) args[0]);
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        case "removeAttribute":
+                            attributes.remove((String) args[0]);
+                            return null;
+                        case "getInitParameter":
+                            return null;
+                        case "getContextPath":
+                            return "";
+                        case "log":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException("ServletContext." + method.getName());
+                    }
+                });
+
+        ServletConfig config = new ServletConfig() {
+            @Override
+            public String getServletName() {
+                return "FrontServlet";
+            }
+
+            @Override
+            public ServletContext getServletContext() {
+                return context;
+            }
+
+            @Override
+            public String getInitParameter(String name) {
+                return params.get(name);
+            }
+
+            @Override
+            public Enumeration<String> getInitParameterNames() {
+                return Collections.enumeration(params.keySet());
+            }
+        };
+
+        FrontServlet servlet = new FrontServlet();
+        servlet.init(config);
+        return servlet;
+    }
+}
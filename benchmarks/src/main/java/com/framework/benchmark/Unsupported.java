@@ -0,0 +1,21 @@
+package com.framework.benchmark;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Implémentation qui refuse tout appel : base des mocks (HttpServletRequestWrapper /
+ * HttpServletResponseWrapper), dont seules les méthodes utilisées sont redéfinies.
+ * Un appel imprévu est signalé au lieu de fausser la mesure avec une valeur par défaut.
+ */
+final class Unsupported {
+
+    private Unsupported() {
+    }
+
+    static <T> T of(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(Unsupported.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                }));
+    }
+}
@@ -0,0 +1,38 @@
+package com.framework.benchmark.controllers;
+
+import com.framework.annotation.Controller;
+import com.framework.annotation.GetMapping;
+import com.framework.annotations.API;
+import com.framework.annotations.Get;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes servies par les benchmarks du dispatch (DispatchBenchmark, LoggingBenchmark).
+ */
+@Controller
+public class BenchController {
+
+    private static final Dept DEPT = new Dept(1, "Informatique");
+
+    @API
+    @Get("/emp/{id}")
+    public Emp emp(int id) {
+        return new Emp(id, "Employé " + id, 2500.5, DEPT);
+    }
+
+    @API
+    @Get("/emps")
+    public List<Emp> emps(int count) {
+        List<Emp> emps = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emps.add(new Emp(i, "Employé " + i, 2500.5 + i, DEPT));
+        }
+        return emps;
+    }
+
+    @GetMapping("/hello")
+    public String hello(String name) {
+        return "Bonjour " + name;
+    }
+}
@@ -0,0 +1,30 @@
+package com.framework.benchmark.controllers;
+
+public class Dept {
+    private int id;
+    private String name;
+
+    public Dept() {
+    }
+
+    public Dept(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,60 @@
+package com.framework.benchmark.controllers;
+
+public class Emp {
+    private int id;
+    private String name;
+    private double salary;
+    private boolean active;
+    private Dept dept;
+
+    public Emp() {
+    }
+
+    public Emp(int id, String name, double salary, Dept dept) {
+        this.id = id;
+        this.name = name;
+        this.salary = salary;
+        this.active = true;
+        this.dept = dept;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getSalary() {
+        return salary;
+    }
+
+    public void setSalary(double salary) {
+        this.salary = salary;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Dept getDept() {
+        return dept;
+    }
+
+    public void setDept(Dept dept) {
+        this.dept = dept;
+    }
+}
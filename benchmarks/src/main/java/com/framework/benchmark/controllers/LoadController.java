@@ -0,0 +1,36 @@
+package com.framework.benchmark.controllers;
+
+import com.framework.annotation.Controller;
+import com.framework.annotation.GetMapping;
+import com.framework.annotations.API;
+import com.framework.annotations.Post;
+import com.framework.model.ModelView;
+import com.framework.util.UploadedFile;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routes du banc de charge (LoadHarness) qui passent par le conteneur : vue JSP et upload.
+ */
+@Controller
+public class LoadController {
+
+    private static final Dept DEPT = new Dept(1, "Informatique");
+
+    // @GetMapping et non @Get : @Get rend la route JSON (Sprint 9)
+    @GetMapping("/page/{id}")
+    public ModelView page(int id) {
+        ModelView mv = new ModelView("emp");
+        mv.addAttribute("emp", new Emp(id, "Employé " + id, 2500.5, DEPT));
+        return mv;
+    }
+
+    @API
+    @Post("/upload")
+    public Map<String, Object> upload(UploadedFile file) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("fileName", file != null ? file.getFileName() : null);
+        result.put("size", file != null ? file.size() : 0);
+        return result;
+    }
+}
@@ -0,0 +1,123 @@
+package com.framework.benchmark.load;
+
+import com.framework.dispatcher.RequestFilter;
+import com.framework.servlet.FrontServlet;
+import com.framework.util.UploadedFile;
+import jakarta.servlet.MultipartConfigElement;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.jasper.servlet.JasperInitializer;
+import org.apache.jasper.servlet.JspServlet;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.apache.tomcat.util.scan.StandardJarScanner;
+
+/**
+ * Tomcat embarqué sur la boucle locale, configuré comme une application réelle :
+ * RequestFilter sur /*, FrontServlet sur /front/* (async, multipart) et le servlet JSP
+ * pour les vues des ModelView. Les contrôleurs sont ceux de com.framework.benchmark.controllers.
+ *
+ * Tout est local (port éphémère, répertoire temporaire) : aucun accès réseau. Les autres
+ * réglages du framework se passent en propriétés système (-Dframework.*), lues par FrontServlet.
+ */
+public final class EmbeddedServer implements AutoCloseable {
+
+    public static final String CONTEXT_PATH = "/app";
+
+    // Journaux de Tomcat : avertissements seulement (références gardées : JUL ne retient pas
+    // les loggers). Le thread framework-log est un démon partagé par la JVM : l'alerte de fuite
+    // de threads à l'arrêt du contexte est attendue.
+    private static final Logger TOMCAT_LOG = Logger.getLogger("org.apache");
+    private static final Logger LOADER_LOG = Logger.getLogger("org.apache.catalina.loader.WebappClassLoaderBase");
+
+    private final Tomcat tomcat;
+    private final Path baseDir;
+
+    private EmbeddedServer(Tomcat tomcat, Path baseDir) {
+        this.tomcat = tomcat;
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * @param maxThreads Nombre maximal de threads du connecteur
+     */
+    public static EmbeddedServer start(int maxThreads) throws IOException, LifecycleException {
+        TOMCAT_LOG.setLevel(Level.WARNING);
+        LOADER_LOG.setLevel(Level.SEVERE);
+        Path baseDir = Files.createTempDirectory("framework-load");
+        Path docBase = Files.createDirectories(baseDir.resolve("webapp"));
+        try (InputStream jsp = EmbeddedServer.class.getResourceAsStream("/webapp/emp.jsp")) {
+            Files.copy(jsp, docBase.resolve("emp.jsp"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Path uploads = Files.createDirectories(baseDir.resolve("uploads"));
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector().setProperty("address", "127.0.0.1");
+        tomcat.getConnector().setProperty("maxThreads", String.valueOf(maxThreads));
+        tomcat.getConnector().setProperty("maxKeepAliveRequests", "-1");
+
+        Context context = tomcat.addContext(CONTEXT_PATH, docBase.toString());
+        // Pas de TLD à chercher dans le classpath : démarrage rapide
+        ((StandardJarScanner) context.getJarScanner()).setScanClassPath(false);
+
+        context.addServletContainerInitializer(new JasperInitializer(), null);
+        Wrapper jsp = Tomcat.addServlet(context, "jsp", new JspServlet());
+        jsp.addInitParameter("development", "false");
+        jsp.setLoadOnStartup(3);
+        context.addServletMappingDecoded("*.jsp", "jsp");
+
+        Wrapper front = Tomcat.addServlet(context, "FrontServlet", new FrontServlet());
+        front.addInitParameter("framework.scan.packages", "com.framework.benchmark.controllers");
+        front.addInitParameter("framework.log.level", "WARN");
+        // Scénario batch du LoadHarness
+        front.addInitParameter("framework.batch", "true");
+        front.setAsyncSupported(true);
+        // Équivalent du @MultipartConfig, non lu pour un servlet ajouté par programme
+        front.setMultipartConfigElement(new MultipartConfigElement(uploads.toString(),
+                UploadedFile.MAX_FILE_SIZE, UploadedFile.MAX_REQUEST_SIZE, 0));
+        front.setLoadOnStartup(1);
+        context.addServletMappingDecoded("/front/*", "FrontServlet");
+
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName("RequestFilter");
+        filterDef.setFilter(new RequestFilter());
+        filterDef.setAsyncSupported("true");
+        context.addFilterDef(filterDef);
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName("RequestFilter");
+        filterMap.addURLPattern("/*");
+        context.addFilterMap(filterMap);
+
+        tomcat.start();
+        return new EmbeddedServer(tomcat, baseDir);
+    }
+
+    /**
+     * @return L'URL de base du contexte, ex. http://127.0.0.1:41234/app
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + tomcat.getConnector().getLocalPort() + CONTEXT_PATH;
+    }
+
+    @Override
+    public void close() throws LifecycleException, IOException {
+        tomcat.stop();
+        tomcat.destroy();
+        try (Stream<Path> files = Files.walk(baseDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
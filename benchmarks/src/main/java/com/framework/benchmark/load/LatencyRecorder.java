@@ -0,0 +1,60 @@
+package com.framework.benchmark.load;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences de chaque requête, gardées telles quelles (pas d'histogramme) : les percentiles
+ * sont exacts. Au-delà de la capacité, les requêtes sont comptées mais plus enregistrées.
+ */
+final class LatencyRecorder {
+
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder errors = new LongAdder();
+
+    LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = nanos;
+        }
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return Les latences enregistrées, triées (nanosecondes)
+     */
+    long[] sorted() {
+        long[] copy = Arrays.copyOf(samples, Math.min(count.get(), samples.length));
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * @param sorted Le résultat de {@link #sorted()}
+     * @param percentile Le percentile voulu (0 à 100)
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(sorted.length * percentile / 100.0);
+        return sorted[Math.max(0, Math.min(rank, sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,120 @@
+package com.framework.benchmark.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur de charge HTTP sur la boucle locale.
+ *
+ * - Boucle fermée : N clients, chacun envoie sa requête suivante dès la réponse reçue.
+ *   Mesure le débit maximal ; la latence est celle vue par un client.
+ * - Boucle ouverte : les requêtes partent à intervalle fixe, quel que soit le temps de
+ *   réponse. La latence est comptée depuis l'instant d'envoi prévu, ce qui inclut
+ *   l'attente quand le serveur prend du retard (pas d'omission coordonnée).
+ */
+final class LoadGenerator {
+
+    private final HttpClient client;
+    private final HttpRequest[] requests;
+    private final AtomicInteger next = new AtomicInteger();
+
+    LoadGenerator(HttpClient client, HttpRequest[] requests) {
+        this.client = client;
+        this.requests = requests;
+    }
+
+    private HttpRequest nextRequest() {
+        return requests[Math.floorMod(next.getAndIncrement(), requests.length)];
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() < 400;
+    }
+
+    /**
+     * @param concurrency Nombre de clients simultanés
+     */
+    LatencyRecorder closed(int concurrency, Duration duration, int capacity) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(capacity);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(nextRequest(), HttpResponse.BodyHandlers.discarding());
+                        if (ok(response)) {
+                            recorder.record(System.nanoTime() - start);
+                        } else {
+                            recorder.error();
+                        }
+                    } catch (IOException e) {
+                        recorder.error();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }, "load-client-" + c);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return recorder;
+    }
+
+    /**
+     * @param rate Requêtes par seconde
+     * @param maxOutstanding Requêtes en vol au-delà desquelles un envoi est compté en erreur
+     */
+    LatencyRecorder open(double rate, Duration duration, int maxOutstanding, int capacity)
+            throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(capacity);
+        AtomicInteger outstanding = new AtomicInteger();
+        long interval = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (outstanding.get() >= maxOutstanding) {
+                recorder.error();
+                continue;
+            }
+            outstanding.incrementAndGet();
+            client.sendAsync(nextRequest(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error == null && ok(response)) {
+                            recorder.record(System.nanoTime() - intended);
+                        } else {
+                            recorder.error();
+                        }
+                        outstanding.decrementAndGet();
+                    });
+        }
+
+        // Les requêtes encore en vol sont attendues (30 s au plus)
+        long drainDeadline = System.nanoTime() + 30_000_000_000L;
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return recorder;
+    }
+}
@@ -0,0 +1,158 @@
+package com.framework.benchmark.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Banc de charge de bout en bout : Tomcat embarqué (EmbeddedServer) et générateur de
+ * charge (LoadGenerator) dans le même processus, sur la boucle locale.
+ *
+ * java -cp target/benchmarks.jar com.framework.benchmark.load.LoadHarness [options]
+ *
+ *   -scenario json|page|jsp|upload|batch|mixed  (json)
+ *   -mode closed|open                           (closed)
+ *   -concurrency N       clients, boucle fermée               (32)
+ *   -rate N              requêtes/s, boucle ouverte            (2000)
+ *   -duration S          durée de la mesure, en secondes       (10)
+ *   -warmup S            durée de la chauffe, en secondes      (15)
+ *   -threads N           maxThreads du connecteur              (200)
+ *   -maxP99 MS           seuil de p99 (code de sortie 1 si dépassé)
+ *   -minThroughput N     seuil de débit en req/s (code de sortie 1 si en dessous)
+ *   -maxErrors N         erreurs tolérées (0)
+ *
+ * Les propriétés -Dframework.* sont lues par FrontServlet comme dans un déploiement.
+ */
+public final class LoadHarness {
+
+    private static final int CAPACITY = 5_000_000;
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Scenario scenario = Scenario.parse(options.getOrDefault("scenario", "json"));
+        boolean open = options.getOrDefault("mode", "closed").equalsIgnoreCase("open");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "2000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "10")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+        int maxThreads = Integer.parseInt(options.getOrDefault("threads", "200"));
+
+        try (EmbeddedServer server = EmbeddedServer.start(maxThreads)) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            HttpRequest[] requests = scenario.requests(server.getBaseUrl());
+            check(client, requests, scenario);
+
+            LoadGenerator generator = new LoadGenerator(client, requests);
+            int maxOutstanding = Math.max(1000, (int) rate);
+            if (!warmup.isZero()) {
+                if (open) {
+                    generator.open(rate, warmup, maxOutstanding, 1);
+                } else {
+                    generator.closed(concurrency, warmup, 1);
+                }
+            }
+
+            ServerThreadProbe probe = new ServerThreadProbe();
+            probe.start();
+            long start = System.nanoTime();
+            LatencyRecorder recorder = open
+                    ? generator.open(rate, duration, maxOutstanding, CAPACITY)
+                    : generator.closed(concurrency, duration, CAPACITY);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            probe.stop();
+            long allocated = probe.getAllocatedBytes();
+
+            long[] sorted = recorder.sorted();
+            long count = recorder.getCount();
+            double throughput = count / seconds;
+
+            System.out.println();
+            System.out.printf(Locale.ROOT, "Scénario %s, boucle %s (%s), %d s, Java %s, %d cœur(s)%n",
+                    scenario.name().toLowerCase(), open ? "ouverte" : "fermée",
+                    open ? String.format(Locale.ROOT, "%.0f req/s", rate) : concurrency + " clients",
+                    duration.getSeconds(), Runtime.version().feature(), Runtime.getRuntime().availableProcessors());
+            System.out.printf(Locale.ROOT, "  requêtes     : %d (%d erreur(s))%n", count, recorder.getErrors());
+            System.out.printf(Locale.ROOT, "  débit        : %.1f req/s%n", throughput);
+            System.out.printf(Locale.ROOT, "  latence (ms) : p50 %.3f  p99 %.3f  p999 %.3f  max %.3f%n",
+                    ms(LatencyRecorder.percentile(sorted, 50)), ms(LatencyRecorder.percentile(sorted, 99)),
+                    ms(LatencyRecorder.percentile(sorted, 99.9)), ms(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+            System.out.printf(Locale.ROOT, "  allocation   : %.1f Mo/s côté serveur, %.1f Ko/requête%n",
+                    allocated / seconds / (1024 * 1024), count > 0 ? allocated / (double) count / 1024 : 0);
+            System.out.printf(Locale.ROOT, "  CPU serveur  : %.1f µs/requête%n",
+                    count > 0 ? probe.getCpuNanos() / (double) count / 1e3 : 0);
+
+            int status = gate(options, recorder.getErrors(), throughput, ms(LatencyRecorder.percentile(sorted, 99)));
+            if (status != 0) {
+                System.exit(status);
+            }
+        }
+    }
+
+    /**
+     * Vérifie une fois chaque requête (statut et contenu) : filtre, multipart et JSP compris.
+     */
+    private static void check(HttpClient client, HttpRequest[] requests, Scenario scenario) throws Exception {
+        for (HttpRequest request : requests) {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            String expected = scenario == Scenario.MIXED
+                    ? Scenario.values()[indexOf(requests, request)].getExpected()
+                    : scenario.getExpected();
+            if (response.statusCode() != 200 || !response.body().contains(expected)) {
+                throw new IllegalStateException("Réponse inattendue pour " + request.method() + " " + request.uri()
+                        + " : " + response.statusCode() + "\n" + response.body());
+            }
+        }
+    }
+
+    private static int indexOf(HttpRequest[] requests, HttpRequest request) {
+        for (int i = 0; i < requests.length; i++) {
+            if (requests[i] == request) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int gate(Map<String, String> options, long errors, double throughput, double p99) {
+        int status = 0;
+        long maxErrors = Long.parseLong(options.getOrDefault("maxErrors", "0"));
+        if (errors > maxErrors) {
+            System.out.println("ÉCHEC : " + errors + " erreur(s), maximum " + maxErrors);
+            status = 1;
+        }
+        if (options.containsKey("maxP99") && p99 > Double.parseDouble(options.get("maxP99"))) {
+            System.out.printf(Locale.ROOT, "ÉCHEC : p99 %.3f ms > %s ms%n", p99, options.get("maxP99"));
+            status = 1;
+        }
+        if (options.containsKey("minThroughput") && throughput < Double.parseDouble(options.get("minThroughput"))) {
+            System.out.printf(Locale.ROOT, "ÉCHEC : débit %.1f req/s < %s req/s%n", throughput, options.get("minThroughput"));
+            status = 1;
+        }
+        return status;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("-") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Option invalide : " + args[i]);
+            }
+            options.put(args[i].substring(1), args[++i]);
+        }
+        return options;
+    }
+}
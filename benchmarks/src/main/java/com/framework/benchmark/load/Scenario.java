@@ -0,0 +1,100 @@
+package com.framework.benchmark.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Requêtes envoyées par le banc de charge. Toutes passent par RequestFilter (forward
+ * vers /front/*) puis FrontServlet.
+ */
+public enum Scenario {
+    /** GET @API : petit objet JSON. */
+    JSON("\"status\""),
+    /** GET d'une page String. */
+    PAGE("Bonjour"),
+    /** GET d'un ModelView : forward vers emp.jsp (Jasper). */
+    JSP("<h2>Employé 42</h2>"),
+    /** POST multipart/form-data d'un fichier de 16 Ko, analysé par le conteneur. */
+    UPLOAD("\"size\":16384"),
+    /** POST d'un lot de 20 GET @API sur /front/_batch, exécutés en parallèle. */
+    BATCH("\"status\":\"success\""),
+    /** JSON, PAGE, JSP et UPLOAD, à tour de rôle. */
+    MIXED(null);
+
+    private static final String BOUNDARY = "----framework-load-boundary";
+
+    private final String expected;
+
+    Scenario(String expected) {
+        this.expected = expected;
+    }
+
+    public static Scenario parse(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+
+    /**
+     * @return Un extrait attendu dans la réponse (vérifié avant la mesure), ou null
+     */
+    String getExpected() {
+        return expected;
+    }
+
+    /**
+     * @param baseUrl L'URL du contexte (EmbeddedServer#getBaseUrl)
+     * @return Les requêtes du scénario, réutilisées tout au long de la mesure
+     */
+    HttpRequest[] requests(String baseUrl) {
+        switch (this) {
+            case JSON:
+                return new HttpRequest[] {get(baseUrl + "/front/emp/42")};
+            case PAGE:
+                return new HttpRequest[] {get(baseUrl + "/front/hello?name=Rakoto")};
+            case JSP:
+                return new HttpRequest[] {get(baseUrl + "/front/page/42")};
+            case UPLOAD:
+                return new HttpRequest[] {upload(baseUrl + "/front/upload", 16 * 1024)};
+            case BATCH:
+                return new HttpRequest[] {batch(baseUrl + "/front/_batch?parallel=true", 20)};
+            default:
+                return new HttpRequest[] {
+                        JSON.requests(baseUrl)[0], PAGE.requests(baseUrl)[0],
+                        JSP.requests(baseUrl)[0], UPLOAD.requests(baseUrl)[0]};
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest batch(String url, int size) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"method\":\"GET\",\"path\":\"/emp/").append(i).append("\"}");
+        }
+        body.append(']');
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private static HttpRequest upload(String url, int size) {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) 'x');
+        byte[] head = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"data.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[head.length + content.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(content, 0, body, head.length, content.length);
+        System.arraycopy(tail, 0, body, head.length + content.length, tail.length);
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.framework.benchmark.load;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Octets alloués et temps CPU des threads du serveur (connecteur Tomcat "http-*" et
+ * threads du framework "framework-*"), les threads du client de charge étant exclus.
+ */
+final class ServerThreadProbe {
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private Map<Long, long[]> baseline = new HashMap<>();
+    private long allocatedBytes;
+    private long cpuNanos;
+
+    ServerThreadProbe() {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threads.setThreadCpuTimeEnabled(true);
+    }
+
+    private static boolean isServerThread(Thread thread) {
+        String name = thread.getName();
+        return name.startsWith("http-") || name.startsWith("framework-");
+    }
+
+    private Map<Long, long[]> snapshot() {
+        Map<Long, long[]> counters = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (isServerThread(thread)) {
+                long bytes = threads.getThreadAllocatedBytes(thread.getId());
+                long cpu = threads.getThreadCpuTime(thread.getId());
+                if (bytes >= 0 && cpu >= 0) {
+                    counters.put(thread.getId(), new long[] {bytes, cpu});
+                }
+            }
+        }
+        return counters;
+    }
+
+    void start() {
+        baseline = snapshot();
+    }
+
+    /**
+     * Arrête la mesure (les threads terminés entre-temps ne sont pas comptés).
+     */
+    void stop() {
+        allocatedBytes = 0;
+        cpuNanos = 0;
+        for (Map.Entry<Long, long[]> entry : snapshot().entrySet()) {
+            long[] before = baseline.getOrDefault(entry.getKey(), new long[2]);
+            allocatedBytes += entry.getValue()[0] - before[0];
+            cpuNanos += entry.getValue()[1] - before[1];
+        }
+    }
+
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    long getCpuNanos() {
+        return cpuNanos;
+    }
+}
@@ -0,0 +1,13 @@
+<%@ page contentType="text/html;charset=UTF-8" pageEncoding="UTF-8" %>
+<!DOCTYPE html>
+<html>
+<head><meta charset="UTF-8"><title>Employé</title></head>
+<body>
+<h2>Employé ${emp.id}</h2>
+<table>
+    <tr><td>Nom</td><td>${emp.name}</td></tr>
+    <tr><td>Salaire</td><td>${emp.salary}</td></tr>
+    <tr><td>Département</td><td>${emp.dept.name}</td></tr>
+</table>
+</body>
+</html>
@@ -0,0 +1,13 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Délai maximal (en millisecondes) d'une route asynchrone (retour CompletionStage).
+ * Au-delà, la requête reçoit une réponse 503. Par défaut : framework.async.timeout.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncTimeout {
+    long value();
+}
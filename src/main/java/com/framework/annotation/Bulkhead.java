@@ -0,0 +1,23 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Limite le nombre d'exécutions simultanées d'une route : au-delà, la requête est refusée
+ * aussitôt (503 avec Retry-After) au lieu d'occuper un thread du conteneur.
+ *
+ * Une exécution compte jusqu'à la fin du travail du contrôleur, y compris sur l'exécuteur
+ * @VirtualThread ou jusqu'à la complétion d'un CompletionStage. Une réponse servie depuis
+ * le cache (@Cacheable) n'en consomme pas.
+ *
+ * Sur une classe, chaque route de la classe reçoit sa propre limite.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+    /** Nombre maximal d'exécutions simultanées. */
+    int maxConcurrent();
+
+    /** Valeur de l'en-tête Retry-After des refus, en secondes. */
+    int retryAfter() default 1;
+}
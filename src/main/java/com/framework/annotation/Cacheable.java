@@ -0,0 +1,20 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Met en cache la réponse sérialisée d'une route GET (JSON ou String).
+ * Une requête servie depuis le cache ne lie aucun argument et n'appelle pas le contrôleur.
+ *
+ * La clé est formée de la route, des variables du path et des paramètres listés
+ * dans key() (toute la query string si key() est vide).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+    /** Durée de vie d'une réponse en cache, en millisecondes. */
+    long ttl() default 60000;
+
+    /** Paramètres de requête qui font partie de la clé. */
+    String[] key() default {};
+}
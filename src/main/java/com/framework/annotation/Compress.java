@@ -0,0 +1,16 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Compresse la réponse (gzip ou deflate selon Accept-Encoding) quand elle dépasse
+ * framework.compression.minSize octets.
+ *
+ * Sur une classe, s'applique à toutes ses routes ; @Compress(false) sur une méthode
+ * l'en exclut. Par défaut : framework.compression.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Compress {
+    boolean value() default true;
+}
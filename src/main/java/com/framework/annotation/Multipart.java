@@ -0,0 +1,30 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Limites d'upload propres à une route (complète le @MultipartConfig du FrontServlet).
+ * Une valeur négative signifie "pas de limite" / "valeur par défaut du framework".
+ *
+ * Ces limites sont vérifiées par le framework, après la réception des parts par le
+ * conteneur : elles refusent la requête mais n'évitent ni le transfert ni l'écriture du
+ * fichier dans le répertoire temporaire. Seules les limites du conteneur (@MultipartConfig
+ * du FrontServlet, ou &lt;multipart-config&gt; dans web.xml) interrompent la réception ;
+ * elles bornent donc aussi les valeurs utiles ici.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Multipart {
+    /** Taille maximale d'un fichier, en octets (413 si dépassée), contrôlée après l'upload. */
+    long maxFileSize() default -1;
+
+    /**
+     * Taille maximale de la requête entière, en octets (413 si dépassée). Comparée au seul
+     * Content-Length, avant la lecture des parts : une requête chunked (sans Content-Length)
+     * n'est bornée que par la limite du conteneur.
+     */
+    long maxRequestSize() default -1;
+
+    /** Au-delà de cette taille, le fichier reste sur disque au lieu d'être chargé en mémoire. */
+    long memoryThreshold() default -1;
+}
@@ -0,0 +1,20 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Limite le débit d'une route (seau à jetons) : au-delà, la requête est refusée aussitôt
+ * (429 avec Retry-After, le délai avant le prochain jeton).
+ *
+ * La limite s'applique à toutes les requêtes de la route, servies depuis le cache ou non.
+ * Sur une classe, chaque route de la classe reçoit son propre seau.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+    /** Débit soutenu, en requêtes par seconde. */
+    double permitsPerSecond();
+
+    /** Requêtes acceptées d'un coup après une période calme (négatif : permitsPerSecond, au moins 1). */
+    int burst() default -1;
+}
@@ -0,0 +1,14 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Le paramètre reçoit le corps JSON entier de la requête (application/json).
+ *
+ * Facultatif lorsque la méthode n'a qu'un paramètre hors path de type composé
+ * (objet, tableau, collection, Map) : il reçoit alors le corps par défaut.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestBody {
+}
@@ -0,0 +1,19 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Désigne une méthode du contrôleur qui retourne la version (ou la date de
+ * modification) de la ressource d'une route GET. Ses paramètres sont liés comme
+ * ceux de la route.
+ *
+ * L'ETag de la réponse est dérivé de cette version : si le client envoie un
+ * If-None-Match correspondant, la réponse est un 304, sans appel de la route
+ * ni sérialisation.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Versioned {
+    /** Nom de la méthode de version, déclarée dans le même contrôleur. */
+    String value();
+}
@@ -0,0 +1,17 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Exécute la route (liaison, appel du contrôleur et rendu) sur un thread virtuel :
+ * le thread du conteneur est libéré (request.startAsync), ce qui convient aux
+ * contrôleurs bloquants (JDBC, appels HTTP...).
+ *
+ * Sur une classe, s'applique à toutes ses routes ; @VirtualThread(false) sur une
+ * méthode l'en exclut. Par défaut : framework.virtualThreads.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VirtualThread {
+    boolean value() default true;
+}
@@ -0,0 +1,460 @@
+package com.framework.dispatcher;
+
+import com.framework.annotation.HttpMethod;
+import com.framework.util.JsonReader;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Sous-requête d'un lot (route réservée framework.batch.path, /_batch).
+ *
+ * Le corps du lot est un tableau JSON, lu en streaming :
+ *   [{"method":"GET","path":"/emp/1"},
+ *    {"method":"GET","path":"/emps","params":{"count":20}},
+ *    {"path":"/search?q=abc"}]
+ *
+ * - method : GET par défaut
+ * - path : chemin de la route, sans le contexte ni /front ; une query string est acceptée
+ * - params : valeurs scalaires, ou tableaux de scalaires pour un paramètre répété
+ *
+ * {@link #wrap} donne à la sous-requête ses propres méthode, paramètres et attributs ;
+ * les en-têtes (authentification, ...) restent ceux de la requête du lot. Une sous-requête
+ * ne repasse pas par la chaîne de filtres : un filtre d'authentification ou d'audit mappé
+ * sur un chemin de route (/front/admin/*, ...) ne la voit pas.
+ *
+ * Hors du thread du conteneur (lot ?parallel=true), la requête du lot ne doit plus être
+ * lue : la sous-requête s'appuie alors sur un {@link Snapshot} pris avant la remise à
+ * l'exécuteur, et la session n'est pas accessible.
+ */
+public final class BatchRequest {
+
+    private final String method;
+    private final HttpMethod httpMethod;
+    private final String path;
+    private final Map<String, String[]> params;
+
+    private BatchRequest(String method, String path, Map<String, String[]> params) {
+        this.method = method;
+        this.httpMethod = parseMethod(method);
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            parseQuery(path.substring(query + 1), params);
+            path = path.substring(0, query);
+        }
+        if (path.startsWith("/front/")) {
+            path = path.substring(6);
+        }
+        this.path = path.startsWith("/") ? path : "/" + path;
+        this.params = params;
+    }
+
+    /**
+     * Lit le tableau des sous-requêtes.
+     *
+     * @param in Le corps de la requête du lot
+     * @param maxBytes Taille maximale du corps (-1 : illimitée)
+     * @param maxRequests Nombre maximal de sous-requêtes
+     * @throws HttpStatusException 400 si le JSON est invalide, 413 au-delà des limites
+     */
+    public static List<BatchRequest> parse(InputStream in, long maxBytes, int maxRequests) {
+        List<BatchRequest> requests = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(in, maxBytes)) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (requests.size() == maxRequests) {
+                    throw new HttpStatusException(413, "Lot trop volumineux (max " + maxRequests + " sous-requêtes)");
+                }
+                requests.add(read(reader, requests.size()));
+            }
+            reader.endArray();
+            reader.endDocument();
+        } catch (JsonReader.TooLargeException e) {
+            throw new HttpStatusException(413, e.getMessage());
+        } catch (IOException e) {
+            throw new HttpStatusException(400, "Lot invalide : " + e.getMessage());
+        }
+        return requests;
+    }
+
+    private static BatchRequest read(JsonReader reader, int index) throws IOException {
+        String method = "GET";
+        String path = null;
+        Map<String, String[]> params = new LinkedHashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            reader.nextName();
+            if (reader.nameEquals("method")) {
+                method = reader.nextString();
+            } else if (reader.nameEquals("path")) {
+                path = reader.nextString();
+            } else if (reader.nameEquals("params") && reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextNameString();
+                    params.put(name, values(reader, name));
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (path == null) {
+            throw new JsonReader.MalformedJsonException("sous-requête " + index + " sans \"path\"");
+        }
+        return new BatchRequest(method, path, params);
+    }
+
+    private static String[] values(JsonReader reader, String name) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return new String[0];
+            case BEGIN_ARRAY: {
+                List<String> values = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    values.add(scalar(reader, name));
+                }
+                reader.endArray();
+                return values.toArray(new String[0]);
+            }
+            default:
+                return new String[] {scalar(reader, name)};
+        }
+    }
+
+    private static String scalar(JsonReader reader, String name) throws IOException {
+        JsonReader.Token token = reader.peek();
+        if (token == JsonReader.Token.BEGIN_OBJECT || token == JsonReader.Token.BEGIN_ARRAY) {
+            throw new JsonReader.MalformedJsonException("paramètre \"" + name + "\" : valeur scalaire attendue");
+        }
+        return reader.nextString();
+    }
+
+    private static HttpMethod parseMethod(String method) {
+        try {
+            return HttpMethod.valueOf(method.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void parseQuery(String query, Map<String, String[]> params) {
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            String[] previous = params.get(name);
+            if (previous == null) {
+                params.put(name, new String[] {value});
+            } else {
+                String[] grown = Arrays.copyOf(previous, previous.length + 1);
+                grown[previous.length] = value;
+                params.put(name, grown);
+            }
+        }
+    }
+
+    /**
+     * @return La méthode HTTP, ou null si elle est inconnue (voir {@link #getMethod()})
+     */
+    public HttpMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    /**
+     * @return La méthode telle qu'écrite dans le lot
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Le chemin de la route, préfixé par "/", sans query string
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @param batch La requête HTTP du lot
+     * @return La sous-requête, à lier par {@link BindingPlan#bind}
+     */
+    public HttpServletRequest wrap(HttpServletRequest batch) {
+        return new SubRequest(batch, null);
+    }
+
+    /**
+     * Sous-requête exécutée hors du thread du conteneur.
+     *
+     * @param batch La requête HTTP du lot
+     * @param snapshot Copie de la requête du lot, prise sur le thread du conteneur
+     * @return La sous-requête, qui lit en-têtes, cookies et identité dans snapshot
+     */
+    public HttpServletRequest wrap(HttpServletRequest batch, Snapshot snapshot) {
+        return new SubRequest(batch, snapshot);
+    }
+
+    /**
+     * En-têtes, cookies et identité de la requête du lot, copiés sur le thread du conteneur :
+     * la requête du conteneur n'est pas thread-safe.
+     */
+    public static final class Snapshot {
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Cookie[] cookies;
+        private final Principal principal;
+        private final String remoteUser;
+        private final String authType;
+        private final String remoteAddr;
+        private final List<Locale> locales = new ArrayList<>();
+
+        private Snapshot(HttpServletRequest request) {
+            for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements(); ) {
+                String name = names.nextElement();
+                headers.put(name, Collections.list(request.getHeaders(name)));
+            }
+            Cookie[] original = request.getCookies();
+            if (original != null) {
+                cookies = new Cookie[original.length];
+                for (int i = 0; i < original.length; i++) {
+                    cookies[i] = (Cookie) original[i].clone();
+                }
+            } else {
+                cookies = null;
+            }
+            principal = request.getUserPrincipal();
+            remoteUser = request.getRemoteUser();
+            authType = request.getAuthType();
+            remoteAddr = request.getRemoteAddr();
+            locales.addAll(Collections.list(request.getLocales()));
+        }
+
+        /**
+         * @param request La requête du lot, sur le thread du conteneur
+         */
+        public static Snapshot of(HttpServletRequest request) {
+            return new Snapshot(request);
+        }
+    }
+
+    private final class SubRequest extends HttpServletRequestWrapper {
+        private final Map<String, Object> attributes = new HashMap<>();
+        private final Snapshot snapshot;
+
+        SubRequest(HttpServletRequest batch, Snapshot snapshot) {
+            super(batch);
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public String getMethod() {
+            return httpMethod.name();
+        }
+
+        @Override
+        public String getPathInfo() {
+            return path;
+        }
+
+        @Override
+        public String getQueryString() {
+            return null;
+        }
+
+        // Pas de corps : les valeurs viennent de params
+        @Override
+        public String getContentType() {
+            return null;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = params.get(name);
+            return values != null && values.length > 0 ? values[0] : null;
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            String[] values = params.get(name);
+            return values != null ? values.clone() : null;
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return Collections.unmodifiableMap(params);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(params.keySet());
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                attributes.remove(name);
+            } else {
+                attributes.put(name, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return false;
+        }
+
+        // --- Lot parallèle : lecture de la copie, jamais de la requête du conteneur ---
+
+        @Override
+        public String getHeader(String name) {
+            if (snapshot == null) {
+                return super.getHeader(name);
+            }
+            List<String> values = snapshot.headers.get(name);
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (snapshot == null) {
+                return super.getHeaders(name);
+            }
+            return Collections.enumeration(snapshot.headers.getOrDefault(name, List.of()));
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            if (snapshot == null) {
+                return super.getHeaderNames();
+            }
+            return Collections.enumeration(snapshot.headers.keySet());
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            if (snapshot == null) {
+                return super.getIntHeader(name);
+            }
+            String value = getHeader(name);
+            return value != null ? Integer.parseInt(value) : -1;
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            if (snapshot == null) {
+                return super.getDateHeader(name);
+            }
+            String value = getHeader(name);
+            if (value == null) {
+                return -1;
+            }
+            try {
+                return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("En-tête " + name + " : date invalide", e);
+            }
+        }
+
+        @Override
+        public Cookie[] getCookies() {
+            if (snapshot == null) {
+                return super.getCookies();
+            }
+            return snapshot.cookies != null ? snapshot.cookies.clone() : null;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return snapshot == null ? super.getUserPrincipal() : snapshot.principal;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return snapshot == null ? super.getRemoteUser() : snapshot.remoteUser;
+        }
+
+        @Override
+        public String getAuthType() {
+            return snapshot == null ? super.getAuthType() : snapshot.authType;
+        }
+
+        @Override
+        public String getRemoteAddr() {
+            return snapshot == null ? super.getRemoteAddr() : snapshot.remoteAddr;
+        }
+
+        @Override
+        public Locale getLocale() {
+            if (snapshot == null) {
+                return super.getLocale();
+            }
+            return snapshot.locales.isEmpty() ? Locale.getDefault() : snapshot.locales.get(0);
+        }
+
+        @Override
+        public Enumeration<Locale> getLocales() {
+            if (snapshot == null) {
+                return super.getLocales();
+            }
+            return Collections.enumeration(snapshot.locales);
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (snapshot == null) {
+                return super.getSession(create);
+            }
+            if (create) {
+                throw new IllegalStateException("Session indisponible dans un lot parallèle");
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.framework.dispatcher;
+
+import com.framework.annotation.Multipart;
+import com.framework.annotation.RequestBody;
+import com.framework.annotation.RequestParam;
+import com.framework.util.JsonDeserializer;
+import com.framework.util.JsonReader;
+import com.framework.util.Log;
+import com.framework.util.UploadedFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Plan de liaison des arguments d'une route, compilé une seule fois au démarrage.
+ *
+ * Pour chaque paramètre de la méthode, le plan retient :
+ * - le nom résolu (@RequestParam ou nom du paramètre)
+ * - l'index de la variable dans le path (-1 si absente)
+ * - le type de fichier attendu en multipart (UploadedFile, UploadedFile[], Map)
+ * - le convertisseur String -> type du paramètre
+ * - le désérialiseur JSON du type générique du paramètre (ex: List&lt;Emp&gt;)
+ *
+ * À chaque requête, {@link #bind} parcourt simplement ce tableau, sans réflexion.
+ * Ordre de priorité d'une valeur : path, puis paramètres de requête, puis body.
+ *
+ * Corps application/json : lu en streaming depuis request.getInputStream() (voir
+ * {@link JsonReader}), sans arbre intermédiaire ni copie du corps en String.
+ * - le paramètre @RequestBody, ou à défaut l'unique paramètre hors path de type
+ *   composé (objet, tableau, collection, Map), reçoit le corps entier
+ * - sinon le corps est un objet dont chaque clé alimente le paramètre du même nom
+ * Un JSON invalide ou une valeur non convertible donne 400, un corps au-delà de la taille
+ * maximale 413. Un type de paramètre non désérialisable (interface, classe sans constructeur
+ * sans argument, champ non modifiable) fait échouer {@link #compile}, donc le démarrage.
+ *
+ * Les limites d'upload de la route (@Multipart) sont aussi résolues ici.
+ */
+public final class BindingPlan {
+
+    @FunctionalInterface
+    public interface Converter {
+        Object convert(String value);
+    }
+
+    enum FileKind { NONE, SINGLE, ARRAY, MAP }
+
+    static final class Slot {
+        final String name;
+        final Class<?> type;
+        final int pathIndex;
+        final FileKind fileKind;
+        final Converter converter;
+        final JsonDeserializer json;
+
+        Slot(String name, Class<?> type, int pathIndex, FileKind fileKind, Converter converter,
+             JsonDeserializer json) {
+            this.name = name;
+            this.type = type;
+            this.pathIndex = pathIndex;
+            this.fileKind = fileKind;
+            this.converter = converter;
+            this.json = json;
+        }
+    }
+
+    private static final Converter INT = Integer::parseInt;
+    private static final Converter DOUBLE = Double::parseDouble;
+    private static final Converter BOOLEAN = Boolean::parseBoolean;
+    private static final Converter STRING = value -> value;
+
+    private final Slot[] slots;
+    private final long maxFileSize;
+    private final long maxRequestSize;
+    private final long memoryThreshold;
+    // Paramètre qui reçoit le corps JSON entier (-1 : liaison des clés par nom)
+    private final int bodySlot;
+    private final long maxBodySize;
+
+    private BindingPlan(Slot[] slots, long maxFileSize, long maxRequestSize, long memoryThreshold,
+                        int bodySlot, long maxBodySize) {
+        this.slots = slots;
+        this.maxFileSize = maxFileSize;
+        this.maxRequestSize = maxRequestSize;
+        this.memoryThreshold = memoryThreshold;
+        this.bodySlot = bodySlot;
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Compile le plan d'une méthode de contrôleur.
+     *
+     * @param method La méthode du contrôleur
+     * @param pathParamNames Les noms des variables du pattern, dans l'ordre
+     * @param defaultMemoryThreshold Seuil mémoire des uploads si la route ne le précise pas
+     * @return Le plan de liaison
+     */
+    public static BindingPlan compile(Method method, List<String> pathParamNames, long defaultMemoryThreshold) {
+        return compile(method, pathParamNames, defaultMemoryThreshold, FormBodyParser.DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * Compile le plan d'une méthode de contrôleur.
+     *
+     * @param method La méthode du contrôleur
+     * @param pathParamNames Les noms des variables du pattern, dans l'ordre
+     * @param defaultMemoryThreshold Seuil mémoire des uploads si la route ne le précise pas
+     * @param maxBodySize Taille maximale d'un corps JSON, en octets (-1 : illimitée)
+     * @return Le plan de liaison
+     */
+    public static BindingPlan compile(Method method, List<String> pathParamNames, long defaultMemoryThreshold,
+                                      long maxBodySize) {
+        Parameter[] parameters = method.getParameters();
+        Slot[] slots = new Slot[parameters.length];
+        int bodySlot = -1;
+        int composite = -1;
+        int candidates = 0;
+
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter param = parameters[i];
+            Class<?> type = param.getType();
+            String name = param.getName();
+
+            RequestParam requestParam = param.getAnnotation(RequestParam.class);
+            if (requestParam != null) {
+                name = requestParam.value();
+            }
+
+            int pathIndex = pathParamNames.indexOf(name);
+            FileKind fileKind = fileKind(type);
+            boolean file = fileKind == FileKind.SINGLE || fileKind == FileKind.ARRAY
+                    || (fileKind == FileKind.MAP && isFileMap(param.getParameterizedType()));
+            JsonDeserializer json;
+            try {
+                // Type non supporté : refusé ici, au démarrage, et non à la première requête JSON
+                json = file ? null : JsonDeserializer.forType(param.getParameterizedType());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Paramètre " + name + " de " + method.getDeclaringClass().getSimpleName()
+                        + "." + method.getName() + " : " + e.getMessage(), e);
+            }
+            slots[i] = new Slot(name, type, pathIndex, fileKind, converter(type), json);
+
+            if (param.isAnnotationPresent(RequestBody.class)) {
+                bodySlot = i;
+            } else if (pathIndex == -1 && !file) {
+                candidates++;
+                if (!isScalar(type)) {
+                    composite = i;
+                }
+            }
+        }
+        if (bodySlot == -1 && candidates == 1) {
+            bodySlot = composite;
+        }
+
+        long maxFileSize = -1;
+        long maxRequestSize = -1;
+        long memoryThreshold = defaultMemoryThreshold;
+        Multipart multipart = method.getAnnotation(Multipart.class);
+        if (multipart != null) {
+            maxFileSize = multipart.maxFileSize();
+            maxRequestSize = multipart.maxRequestSize();
+            if (multipart.memoryThreshold() >= 0) {
+                memoryThreshold = multipart.memoryThreshold();
+            }
+        }
+
+        return new BindingPlan(slots, maxFileSize, maxRequestSize, memoryThreshold, bodySlot, maxBodySize);
+    }
+
+    private static boolean isScalar(Class<?> type) {
+        return type.isPrimitive() || type == String.class || type.isEnum() || type == Character.class
+                || type == Boolean.class || Number.class.isAssignableFrom(type)
+                || type == BigDecimal.class || type == BigInteger.class;
+    }
+
+    private static FileKind fileKind(Class<?> type) {
+        if (type == UploadedFile.class || type.getSimpleName().equals("UploadedFile")) {
+            return FileKind.SINGLE;
+        }
+        if (type.isArray() && type.getComponentType() == UploadedFile.class) {
+            return FileKind.ARRAY;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return FileKind.MAP;
+        }
+        return FileKind.NONE;
+    }
+
+    // Map<String, UploadedFile> : alimentée par les parts multipart, jamais par un corps JSON
+    private static boolean isFileMap(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments().length == 2
+                && parameterized.getActualTypeArguments()[1] == UploadedFile.class;
+    }
+
+    private static Converter converter(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return INT;
+        } else if (type == double.class || type == Double.class) {
+            return DOUBLE;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return BOOLEAN;
+        }
+        return STRING;
+    }
+
+    /**
+     * @return Le nombre d'arguments de la méthode
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * Construit les arguments de la méthode pour une requête.
+     *
+     * @param request La requête HTTP
+     * @param pathValues Les valeurs des variables du path (voir {@link Router.Match#getValues()})
+     * @return Les arguments, prêts à être passés à l'invocateur
+     */
+    public Object[] bind(HttpServletRequest request, String[] pathValues) {
+        Object[] args = new Object[slots.length];
+
+        String contentType = request.getContentType();
+        String lowerContentType = contentType != null ? contentType.toLowerCase() : "";
+        boolean isMultipart = lowerContentType.contains("multipart/form-data");
+
+        if (isMultipart && maxRequestSize >= 0 && request.getContentLengthLong() > maxRequestSize) {
+            throw new HttpStatusException(413, "Requête trop volumineuse (max " + maxRequestSize + " octets)");
+        }
+
+        // Bit i : args[i] a été lu dans le corps JSON (la valeur peut être null)
+        long fromBody = 0;
+        if (slots.length > 0 && (lowerContentType.contains("application/json") || lowerContentType.contains("+json"))) {
+            fromBody = bindJson(request, args);
+        }
+
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+
+            if (isMultipart && slot.fileKind != FileKind.NONE) {
+                args[i] = bindFile(slot, request);
+                continue;
+            }
+            if (slot.pathIndex == -1 && i < 64 && (fromBody & (1L << i)) != 0) {
+                continue;
+            }
+
+            String value;
+            // 1. URL path parameters
+            if (slot.pathIndex != -1) {
+                value = pathValues[slot.pathIndex];
+            }
+            // 2. Request parameters (GET/POST query string)
+            else if ((value = request.getParameter(slot.name)) == null) {
+                // 3. Request body (PUT/DELETE/POST body)
+                Object bodyParam = request.getAttribute(slot.name);
+                if (bodyParam != null) {
+                    value = bodyParam.toString();
+                }
+            }
+
+            Log.debug("    - {} (type: {}) = {}", slot.name, slot.type.getSimpleName(), value);
+
+            if (value != null) {
+                try {
+                    args[i] = slot.converter.convert(value);
+                } catch (NumberFormatException e) {
+                    Log.debug("     Erreur de conversion pour {}: {}", slot.name, e.getMessage());
+                }
+            }
+        }
+
+        return args;
+    }
+
+    /**
+     * Lit le corps JSON dans args.
+     *
+     * @return Les index des arguments renseignés, en bits
+     */
+    private long bindJson(HttpServletRequest request, Object[] args) {
+        if (maxBodySize >= 0 && request.getContentLengthLong() > maxBodySize) {
+            throw new HttpStatusException(413, "Corps JSON trop volumineux (max " + maxBodySize + " octets)");
+        }
+        try (JsonReader reader = new JsonReader(request.getInputStream(), maxBodySize)) {
+            long bound = 0;
+            if (bodySlot >= 0) {
+                args[bodySlot] = slots[bodySlot].json.read(reader);
+                bound = bodySlot < 64 ? 1L << bodySlot : 0;
+            } else {
+                if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+                    throw new JsonReader.MalformedJsonException("Objet JSON attendu");
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    reader.nextName();
+                    int i = slotIndex(reader);
+                    if (i < 0) {
+                        reader.skipValue();
+                    } else {
+                        args[i] = slots[i].json.read(reader);
+                        bound |= i < 64 ? 1L << i : 0;
+                    }
+                }
+                reader.endObject();
+            }
+            reader.endDocument();
+            return bound;
+        } catch (JsonReader.TooLargeException e) {
+            throw new HttpStatusException(413, e.getMessage());
+        } catch (IOException e) {
+            Log.debug("    JSON invalide : {}", e.getMessage());
+            throw new HttpStatusException(400, e.getMessage());
+        } catch (ClassCastException | IllegalArgumentException e) {
+            // Valeur reçue incompatible avec la collection cible (élément non Comparable d'un TreeSet, ...)
+            Log.debug("    JSON non convertible : {}", e.getMessage());
+            throw new HttpStatusException(400, "Corps JSON non convertible : " + e.getMessage());
+        }
+    }
+
+    private int slotIndex(JsonReader reader) {
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            if (slot.json != null && reader.nameEquals(slot.name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Multipart/file binding support (Sprint 10)
+    private Object bindFile(Slot slot, HttpServletRequest request) {
+        try {
+            switch (slot.fileKind) {
+                case SINGLE: {
+                    Part part = request.getPart(slot.name);
+                    if (part != null && part.getSubmittedFileName() != null) {
+                        return toUploadedFile(slot.name, part);
+                    }
+                    return null;
+                }
+                case ARRAY: {
+                    List<UploadedFile> collected = new ArrayList<>();
+                    for (Part part : request.getParts()) {
+                        if (part.getName().equals(slot.name) && part.getSubmittedFileName() != null) {
+                            collected.add(toUploadedFile(slot.name, part));
+                        }
+                    }
+                    return collected.toArray(new UploadedFile[0]);
+                }
+                case MAP: {
+                    // Map<String, UploadedFile> : nom du champ -> fichier
+                    Map<String, UploadedFile> map = new LinkedHashMap<>();
+                    for (Part part : request.getParts()) {
+                        if (part.getSubmittedFileName() != null) {
+                            map.put(part.getName(), toUploadedFile(part.getName(), part));
+                        }
+                    }
+                    return map;
+                }
+                default:
+                    return null;
+            }
+        } catch (HttpStatusException e) {
+            throw e;
+        } catch (IllegalStateException e) {
+            // Réception interrompue par le conteneur : maxFileSize / maxRequestSize de @MultipartConfig
+            throw new HttpStatusException(413, "Upload trop volumineux : " + e.getMessage());
+        } catch (Exception e) {
+            Log.warn("    Erreur binding {}: {}", slot.type.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    // Les gros fichiers restent dans le fichier temporaire du conteneur
+    private UploadedFile toUploadedFile(String fieldName, Part part) throws IOException {
+        if (maxFileSize >= 0 && part.getSize() > maxFileSize) {
+            throw new HttpStatusException(413, "Fichier " + part.getSubmittedFileName()
+                    + " trop volumineux (max " + maxFileSize + " octets)");
+        }
+        return UploadedFile.fromPart(fieldName, part, memoryThreshold);
+    }
+}
@@ -0,0 +1,85 @@
+package com.framework.dispatcher;
+
+import com.framework.util.Log;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécuteur des routes @VirtualThread.
+ *
+ * Sur Java 21+, un thread virtuel par tâche (Executors.newVirtualThreadPerTaskExecutor) :
+ * une requête bloquée en I/O ne retient aucun thread du système. Le framework reste
+ * compilé en Java 17, la méthode est donc résolue par réflexion ; sur un JDK plus
+ * ancien, repli sur un pool fixe de threads plateforme.
+ */
+public final class BlockingExecutor implements Executor {
+
+    private final ExecutorService delegate;
+    private final boolean virtual;
+
+    private BlockingExecutor(ExecutorService delegate, boolean virtual) {
+        this.delegate = delegate;
+        this.virtual = virtual;
+    }
+
+    /**
+     * @param platformPoolSize Taille du pool de repli si les threads virtuels sont indisponibles
+     * @return Un exécuteur à threads virtuels si possible, sinon à threads plateforme
+     */
+    public static BlockingExecutor virtualOrPlatform(int platformPoolSize) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new BlockingExecutor((ExecutorService) factory.invoke(null), true);
+        } catch (ReflectiveOperationException e) {
+            Log.warn("Threads virtuels indisponibles (Java {}), pool de {} threads plateforme",
+                    Runtime.version().feature(), platformPoolSize);
+            return platform(platformPoolSize);
+        }
+    }
+
+    /**
+     * @param poolSize Nombre de threads plateforme
+     * @return Un exécuteur à pool fixe (sert aussi de référence pour comparer les deux modes)
+     */
+    public static BlockingExecutor platform(int poolSize) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "framework-blocking-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new BlockingExecutor(Executors.newFixedThreadPool(poolSize, factory), false);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(task);
+    }
+
+    /**
+     * @return true si les tâches tournent sur des threads virtuels
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Refuse les nouvelles tâches et attend la fin des requêtes en cours (au plus timeoutMillis).
+     */
+    public void shutdown(long timeoutMillis) {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
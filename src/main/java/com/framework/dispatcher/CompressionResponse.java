@@ -0,0 +1,336 @@
+package com.framework.dispatcher;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Réponse compressée à la volée (gzip ou deflate).
+ *
+ * Les premiers octets sont gardés en mémoire jusqu'au seuil : une petite réponse est
+ * envoyée telle quelle, avec son Content-Length. Au-delà du seuil (ou dès qu'un
+ * Content-Length supérieur est annoncé), la compression démarre et le reste du corps
+ * est compressé au fil de l'écriture, sans être mis en tampon.
+ *
+ * {@link #finish()} doit être appelé une fois la réponse écrite.
+ */
+public final class CompressionResponse extends HttpServletResponseWrapper {
+
+    public enum Encoding {
+        GZIP("gzip"), DEFLATE("deflate");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        /**
+         * Choisit l'encodage d'après Accept-Encoding (gzip de préférence, q=0 respecté).
+         *
+         * @return L'encodage accepté, ou null
+         */
+        public static Encoding negotiate(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return null;
+            }
+            boolean deflate = false;
+            for (String part : acceptEncoding.split(",")) {
+                String[] fields = part.trim().split(";");
+                String name = fields[0].trim().toLowerCase();
+                boolean refused = false;
+                for (int i = 1; i < fields.length; i++) {
+                    String param = fields[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            refused = Double.parseDouble(param.substring(2)) <= 0;
+                        } catch (NumberFormatException e) {
+                            refused = true;
+                        }
+                    }
+                }
+                if (refused) {
+                    continue;
+                }
+                if (name.equals("gzip") || name.equals("*")) {
+                    return GZIP;
+                }
+                if (name.equals("deflate")) {
+                    deflate = true;
+                }
+            }
+            return deflate ? DEFLATE : null;
+        }
+    }
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final Encoding encoding;
+    private final DeflaterPool pool;
+    private final int threshold;
+    private final CompressingStream stream = new CompressingStream();
+    private PrintWriter writer;
+
+    /**
+     * @param response La réponse du conteneur
+     * @param encoding L'encodage négocié
+     * @param threshold Taille à partir de laquelle le corps est compressé
+     */
+    public CompressionResponse(HttpServletResponse response, Encoding encoding, DeflaterPool pool, int threshold) {
+        super(response);
+        this.encoding = encoding;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            String encodingName = getCharacterEncoding();
+            Charset charset = encodingName != null ? Charset.forName(encodingName) : StandardCharsets.ISO_8859_1;
+            writer = new PrintWriter(new OutputStreamWriter(stream, charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        // Taille connue d'avance : la décision est prise tout de suite
+        if (stream.state == CompressingStream.UNDECIDED && stream.count == 0) {
+            if (length >= threshold) {
+                stream.start();
+            } else {
+                stream.state = CompressingStream.PASSTHROUGH;
+                super.setContentLengthLong(length);
+            }
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        stream.flush();
+        super.flushBuffer();
+    }
+
+    /**
+     * Désactive la compression si rien n'a encore été écrit (ex. dispatch async vers une JSP,
+     * dont la fin d'écriture n'est pas observable).
+     */
+    public void disable() throws IOException {
+        if (stream.state == CompressingStream.UNDECIDED) {
+            stream.passthrough();
+        }
+    }
+
+    /**
+     * @return true si le corps est effectivement compressé
+     */
+    public boolean isCompressing() {
+        return stream.state == CompressingStream.COMPRESSING;
+    }
+
+    /**
+     * Termine la réponse : écrit le reste du flux compressé (et l'en-queue gzip), ou le
+     * corps non compressé s'il est resté sous le seuil.
+     */
+    public void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        stream.finish();
+    }
+
+    private final class CompressingStream extends ServletOutputStream {
+        static final int UNDECIDED = 0;
+        static final int PASSTHROUGH = 1;
+        static final int COMPRESSING = 2;
+        static final int FINISHED = 3;
+
+        int state = UNDECIDED;
+        byte[] pending;
+        int count;
+        DeflaterPool.Lease lease;
+        CRC32 crc;
+        ServletOutputStream out;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            switch (state) {
+                case UNDECIDED:
+                    if (count + len < threshold) {
+                        if (pending == null) {
+                            pending = new byte[Math.max(threshold, 16)];
+                        }
+                        System.arraycopy(b, off, pending, count, len);
+                        count += len;
+                        return;
+                    }
+                    start();
+                    deflate(b, off, len);
+                    return;
+                case PASSTHROUGH:
+                    out().write(b, off, len);
+                    return;
+                case COMPRESSING:
+                    deflate(b, off, len);
+                    return;
+                default:
+                    throw new IOException("Réponse déjà terminée");
+            }
+        }
+
+        private ServletOutputStream out() throws IOException {
+            if (out == null) {
+                out = getResponse().getOutputStream();
+            }
+            return out;
+        }
+
+        void start() {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader("Content-Encoding", encoding.token);
+            // Le corps envoyé n'est plus celui qui a servi à calculer l'ETag fort
+            String etag = response.getHeader("ETag");
+            if (etag != null && etag.startsWith("\"")) {
+                response.setHeader("ETag", "W/" + etag);
+            }
+            lease = pool.borrow(encoding == Encoding.GZIP);
+            state = COMPRESSING;
+            try {
+                if (encoding == Encoding.GZIP) {
+                    crc = new CRC32();
+                    out().write(GZIP_HEADER);
+                }
+                if (count > 0) {
+                    deflate(pending, 0, count);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            pending = null;
+            count = 0;
+        }
+
+        void passthrough() throws IOException {
+            state = PASSTHROUGH;
+            if (count > 0) {
+                out().write(pending, 0, count);
+            }
+            pending = null;
+            count = 0;
+        }
+
+        private void deflate(byte[] b, int off, int len) throws IOException {
+            if (crc != null) {
+                crc.update(b, off, len);
+            }
+            Deflater deflater = lease.deflater;
+            deflater.setInput(b, off, len);
+            while (!deflater.needsInput()) {
+                drain(Deflater.NO_FLUSH);
+            }
+        }
+
+        private int drain(int flush) throws IOException {
+            int n = lease.deflater.deflate(lease.buffer, 0, lease.buffer.length, flush);
+            if (n > 0) {
+                out().write(lease.buffer, 0, n);
+            }
+            return n;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (state == COMPRESSING) {
+                // SYNC_FLUSH : le client peut décompresser tout ce qui a été écrit
+                while (drain(Deflater.SYNC_FLUSH) == lease.buffer.length) {
+                    // tampon plein : il reste des octets à produire
+                }
+                out().flush();
+            } else if (state == PASSTHROUGH) {
+                out().flush();
+            }
+        }
+
+        void finish() throws IOException {
+            switch (state) {
+                case UNDECIDED:
+                    state = FINISHED;
+                    if (count > 0) {
+                        getResponse().setContentLength(count);
+                        out().write(pending, 0, count);
+                    }
+                    pending = null;
+                    return;
+                case COMPRESSING:
+                    state = FINISHED;
+                    Deflater deflater = lease.deflater;
+                    try {
+                        deflater.finish();
+                        while (!deflater.finished()) {
+                            drain(Deflater.NO_FLUSH);
+                        }
+                        if (crc != null) {
+                            writeInt((int) crc.getValue());
+                            writeInt((int) deflater.getBytesRead());
+                        }
+                    } finally {
+                        pool.release(lease);
+                        lease = null;
+                    }
+                    return;
+                default:
+                    state = FINISHED;
+            }
+        }
+
+        private void writeInt(int value) throws IOException {
+            ServletOutputStream target = out();
+            target.write(value & 0xff);
+            target.write((value >>> 8) & 0xff);
+            target.write((value >>> 16) & 0xff);
+            target.write((value >>> 24) & 0xff);
+        }
+
+        @Override
+        public void close() {
+            // La fin du flux compressé est écrite par finish(), après le rendu complet
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            throw new UnsupportedOperationException("Écriture non bloquante non supportée en compression");
+        }
+    }
+}
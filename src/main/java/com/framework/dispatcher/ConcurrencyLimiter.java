@@ -0,0 +1,46 @@
+package com.framework.dispatcher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compteur d'exécutions simultanées d'une route (@Bulkhead), sans verrou : un CAS par
+ * acquisition, un décrément par libération.
+ */
+public final class ConcurrencyLimiter {
+
+    private final int maxConcurrent;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public ConcurrencyLimiter(int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent doit être >= 1 : " + maxConcurrent);
+        }
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * @return true si une place a été prise (à rendre par {@link #release()}), false si la limite est atteinte
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = active.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+        } while (!active.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        active.decrementAndGet();
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
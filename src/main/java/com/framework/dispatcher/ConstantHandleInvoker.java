@@ -0,0 +1,51 @@
+package com.framework.dispatcher;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Modèle des invocateurs METHOD_HANDLE : jamais chargé tel quel. Ses octets sont redéfinis
+ * en classe cachée, une par route, avec le MethodHandle de la route en "class data"
+ * (voir {@link MethodInvoker#create}).
+ *
+ * HANDLE est alors un static final propre à chaque classe : une constante pour le JIT, qui
+ * inline l'adaptateur (Object[]) -> Object puis la méthode du contrôleur, ce qu'il ne fait
+ * pas au travers d'un champ d'instance.
+ */
+final class ConstantHandleInvoker extends MethodInvoker {
+
+    private static final MethodHandle HANDLE = classData();
+
+    private final boolean[] primitives;
+
+    ConstantHandleInvoker(Method method) {
+        super(method);
+        this.primitives = primitives(method);
+    }
+
+    private static MethodHandle classData() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object invoke(Object[] args) throws InvocationTargetException {
+        Object[] spread = checkArguments(args, primitives);
+        try {
+            return (Object) HANDLE.invokeExact(spread);
+        } catch (Throwable t) {
+            throw failure(t, spread);
+        }
+    }
+
+    @Override
+    public Mode getMode() {
+        return Mode.METHOD_HANDLE;
+    }
+}
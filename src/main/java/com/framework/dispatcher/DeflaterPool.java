@@ -0,0 +1,69 @@
+package com.framework.dispatcher;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * Pool de Deflater réutilisés (et de leur tampon de sortie) : l'état zlib natif n'est
+ * pas alloué à chaque requête.
+ *
+ * Un pool partagé plutôt qu'un ThreadLocal : avec les routes @VirtualThread ou async,
+ * chaque requête peut tourner sur un thread différent. Au-delà de maxIdle, un Deflater
+ * rendu est libéré (end()).
+ */
+public final class DeflaterPool {
+
+    /**
+     * Deflater emprunté avec son tampon de sortie.
+     */
+    public static final class Lease {
+        final Deflater deflater;
+        final byte[] buffer = new byte[8192];
+        final boolean nowrap;
+
+        Lease(Deflater deflater, boolean nowrap) {
+            this.deflater = deflater;
+            this.nowrap = nowrap;
+        }
+    }
+
+    private final int level;
+    private final int maxIdle;
+    // nowrap = true : deflate brut (gzip) ; false : format zlib (Content-Encoding: deflate)
+    private final ConcurrentLinkedQueue<Lease> raw = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Lease> zlib = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idle = new AtomicInteger();
+
+    /**
+     * @param level Niveau de compression (0 à 9, -1 pour le défaut de zlib)
+     * @param maxIdle Nombre maximal de Deflater conservés
+     */
+    public DeflaterPool(int level, int maxIdle) {
+        this.level = level;
+        this.maxIdle = maxIdle;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public Lease borrow(boolean nowrap) {
+        Lease lease = (nowrap ? raw : zlib).poll();
+        if (lease != null) {
+            idle.decrementAndGet();
+            return lease;
+        }
+        return new Lease(new Deflater(level, nowrap), nowrap);
+    }
+
+    public void release(Lease lease) {
+        lease.deflater.reset();
+        if (idle.incrementAndGet() <= maxIdle) {
+            (lease.nowrap ? raw : zlib).offer(lease);
+        } else {
+            idle.decrementAndGet();
+            lease.deflater.end();
+        }
+    }
+}
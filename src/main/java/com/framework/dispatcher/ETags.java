@@ -0,0 +1,219 @@
+package com.framework.dispatcher;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * ETag des réponses et comparaison avec If-None-Match.
+ *
+ * L'ETag d'un corps est un hash FNV-1a 64 bits (non cryptographique), calculé pendant
+ * l'écriture du corps par {@link HashingOutputStream} : pas de seconde lecture.
+ * Une route @Versioned fournit à la place une version, ce qui permet de répondre 304
+ * sans appeler le contrôleur.
+ */
+public final class ETags {
+
+    /** Attribut de requête portant l'ETag déjà calculé à partir de la version de la route. */
+    public static final String VERSION_ATTRIBUTE = ETags.class.getName() + ".version";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    /**
+     * Flux qui calcule le hash des octets transmis au flux délégué.
+     */
+    public static final class HashingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private long hash = FNV_OFFSET;
+
+        public HashingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            hash = hash(hash, b, off, len);
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        /**
+         * @return L'ETag fort des octets écrits jusqu'ici
+         */
+        public String getETag() {
+            return format(hash);
+        }
+    }
+
+    /**
+     * Tampon borné d'un corps dont on calcule l'ETag. Tant que le corps tient dans limit
+     * octets, rien n'est écrit dans le flux délégué (les en-têtes restent modifiables) ;
+     * au-delà, le début du corps y est écrit et la suite y passe directement, sans ETag.
+     */
+    public static final class BoundedBuffer extends OutputStream {
+        private final OutputStream out;
+        private final int limit;
+        private byte[] bytes;
+        private int count;
+        private boolean overflowed;
+
+        /**
+         * @param out Le flux de la réponse
+         * @param limit Taille maximale mise en tampon, en octets
+         */
+        public BoundedBuffer(OutputStream out, int limit) {
+            this.out = out;
+            this.limit = limit;
+            this.bytes = new byte[Math.min(limit, 1024)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!overflowed && count == limit) {
+                overflow();
+            }
+            if (overflowed) {
+                out.write(b);
+                return;
+            }
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!overflowed && len > limit - count) {
+                overflow();
+            }
+            if (overflowed) {
+                out.write(b, off, len);
+                return;
+            }
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        // Le flux délégué n'est vidé qu'une fois le tampon abandonné : vider plus tôt
+        // validerait les en-têtes de la réponse avant l'ETag
+        @Override
+        public void flush() throws IOException {
+            if (overflowed) {
+                out.flush();
+            }
+        }
+
+        private void overflow() throws IOException {
+            out.write(bytes, 0, count);
+            bytes = null;
+            overflowed = true;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(limit, Math.max(capacity, bytes.length * 2)));
+            }
+        }
+
+        /**
+         * @return true si le corps a dépassé la limite et a été écrit directement
+         */
+        public boolean isOverflowed() {
+            return overflowed;
+        }
+
+        /**
+         * @return Le nombre d'octets en tampon
+         */
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Écrit le corps mis en tampon, sans copie.
+         */
+        public void writeTo(OutputStream target) throws IOException {
+            target.write(bytes, 0, count);
+        }
+    }
+
+    /**
+     * @return L'ETag fort d'un corps déjà sérialisé
+     */
+    public static String of(byte[] body) {
+        return format(hash(FNV_OFFSET, body, 0, body.length));
+    }
+
+    /**
+     * @param version La version fournie par la route (@Versioned)
+     * @return L'ETag correspondant
+     */
+    public static String ofVersion(Object version) {
+        byte[] bytes = String.valueOf(version).getBytes(StandardCharsets.UTF_8);
+        // Préfixe distinct : une version ne peut pas coïncider avec le hash d'un corps
+        return "\"v" + Long.toHexString(hash(FNV_OFFSET, bytes, 0, bytes.length)) + "\"";
+    }
+
+    private static long hash(long h, byte[] bytes, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            h = (h ^ (bytes[i] & 0xff)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static String format(long hash) {
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Comparaison faible de If-None-Match (RFC 9110) : "*", liste séparée par des
+     * virgules, préfixe W/ ignoré.
+     *
+     * @param ifNoneMatch La valeur de l'en-tête (peut être null)
+     * @param etag L'ETag de la réponse
+     * @return true si le client a déjà cette représentation
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String value = ifNoneMatch.trim();
+        if (value.equals("*")) {
+            return true;
+        }
+        int start = 0;
+        while (start < value.length()) {
+            int comma = value.indexOf(',', start);
+            int end = comma == -1 ? value.length() : comma;
+            String candidate = value.substring(start, end).trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(etag)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,206 @@
+package com.framework.dispatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parseur incrémental de body application/x-www-form-urlencoded.
+ *
+ * Les octets sont lus directement depuis le flux de la requête et les séquences %XX et '+'
+ * sont décodées au fil de l'eau : aucune String intermédiaire du body complet n'est créée,
+ * seules les Strings des noms et valeurs sont allouées.
+ *
+ * - "a=" et "a" donnent une valeur vide, "a=b=c" donne la valeur "b=c"
+ * - un nom répété donne plusieurs valeurs (voir {@link Form#getValues})
+ * - au-delà de maxBodySize octets ou de maxFields champs : HttpStatusException 413
+ */
+public final class FormBodyParser {
+
+    public static final long DEFAULT_MAX_BODY_SIZE = 10L * 1024 * 1024;
+    public static final int DEFAULT_MAX_FIELDS = 100_000;
+
+    private static final int CHUNK = 8192;
+
+    private final long maxBodySize;
+    private final int maxFields;
+
+    /**
+     * @param maxBodySize Taille maximale du body en octets (négatif = illimité)
+     * @param maxFields Nombre maximal de champs (négatif = illimité)
+     */
+    public FormBodyParser(long maxBodySize, int maxFields) {
+        this.maxBodySize = maxBodySize;
+        this.maxFields = maxFields;
+    }
+
+    /**
+     * Champs d'un formulaire, stockés dans deux tableaux parallèles dans l'ordre du body.
+     */
+    public static final class Form {
+        private String[] names = new String[16];
+        private String[] values = new String[16];
+        private int size;
+
+        void add(String name, String value) {
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            names[size] = name;
+            values[size] = value;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public String getName(int index) {
+            return names[index];
+        }
+
+        public String getValue(int index) {
+            return values[index];
+        }
+
+        /**
+         * @return La première valeur du champ, ou null
+         */
+        public String getFirst(String name) {
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(name)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return Toutes les valeurs du champ, dans l'ordre du body
+         */
+        public List<String> getValues(String name) {
+            List<String> result = new ArrayList<>(1);
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(name)) {
+                    result.add(values[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Parse le body en une seule passe.
+     *
+     * @param in Le flux du body (non fermé)
+     * @param charset L'encodage des octets décodés
+     * @return Les champs du formulaire
+     */
+    public Form parse(InputStream in, Charset charset) throws IOException {
+        Form form = new Form();
+        byte[] chunk = new byte[CHUNK];
+        byte[] token = new byte[256];
+        int length = 0;
+        String name = null;
+
+        // Décodage %XX : 0 = normal, 1 = après '%', 2 = après '%X'
+        int escape = 0;
+        int high = 0;
+        int highByte = 0;
+        long total = 0;
+
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            total += read;
+            if (maxBodySize >= 0 && total > maxBodySize) {
+                throw new HttpStatusException(413, "Body trop volumineux (max " + maxBodySize + " octets)");
+            }
+
+            for (int i = 0; i < read; i++) {
+                int b = chunk[i] & 0xFF;
+
+                if (escape == 1) {
+                    high = hex(b);
+                    highByte = b;
+                    if (high < 0) {
+                        // '%' non suivi d'un chiffre hexadécimal : gardé tel quel
+                        token = append(token, length++, '%');
+                        escape = 0;
+                    } else {
+                        escape = 2;
+                        continue;
+                    }
+                } else if (escape == 2) {
+                    int low = hex(b);
+                    escape = 0;
+                    if (low >= 0) {
+                        token = append(token, length++, (high << 4) | low);
+                        continue;
+                    }
+                    token = append(token, length++, '%');
+                    token = append(token, length++, highByte);
+                }
+
+                if (b == '&') {
+                    if (name != null || length > 0) {
+                        addField(form, name, token, length, charset);
+                    }
+                    name = null;
+                    length = 0;
+                } else if (b == '=' && name == null) {
+                    name = new String(token, 0, length, charset);
+                    length = 0;
+                } else if (b == '+') {
+                    token = append(token, length++, ' ');
+                } else if (b == '%') {
+                    escape = 1;
+                } else {
+                    token = append(token, length++, b);
+                }
+            }
+        }
+
+        if (escape == 1) {
+            token = append(token, length++, '%');
+        } else if (escape == 2) {
+            token = append(token, length++, '%');
+            token = append(token, length++, highByte);
+        }
+        if (name != null || length > 0) {
+            addField(form, name, token, length, charset);
+        }
+        return form;
+    }
+
+    private void addField(Form form, String name, byte[] token, int length, Charset charset) {
+        if (maxFields >= 0 && form.size() >= maxFields) {
+            throw new HttpStatusException(413, "Trop de champs dans le formulaire (max " + maxFields + ")");
+        }
+        String text = new String(token, 0, length, charset);
+        if (name == null) {
+            // "a" sans '=' : nom avec valeur vide
+            form.add(text, "");
+        } else {
+            form.add(name, text);
+        }
+    }
+
+    private static byte[] append(byte[] token, int position, int b) {
+        if (position == token.length) {
+            token = Arrays.copyOf(token, token.length * 2);
+        }
+        token[position] = (byte) b;
+        return token;
+    }
+
+    private static int hex(int b) {
+        if (b >= '0' && b <= '9') return b - '0';
+        if (b >= 'a' && b <= 'f') return b - 'a' + 10;
+        if (b >= 'A' && b <= 'F') return b - 'A' + 10;
+        return -1;
+    }
+}
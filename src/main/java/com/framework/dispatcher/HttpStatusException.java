@@ -0,0 +1,18 @@
+package com.framework.dispatcher;
+
+/**
+ * Erreur du dispatch qui doit se traduire par un code HTTP précis (413, 429, ...)
+ * plutôt que par une erreur 500.
+ */
+public class HttpStatusException extends RuntimeException {
+    private final int status;
+
+    public HttpStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,244 @@
+package com.framework.dispatcher;
+
+import com.framework.util.Log;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invocateur d'une méthode de contrôleur, construit une seule fois par route au démarrage.
+ *
+ * Deux modes :
+ * - METHOD_HANDLE : MethodHandle lié au contrôleur et adapté à (Object[]) -> Object,
+ *   rangé dans le static final d'une classe cachée propre à la route
+ *   ({@link ConstantHandleInvoker}) : le JIT le traite comme une constante et peut inliner
+ *   jusqu'au corps de la méthode. Si la classe cachée ne peut pas être définie, le handle
+ *   est gardé dans un champ d'instance, appelé sans inlining (coût proche de Method.invoke)
+ * - REFLECTION : l'ancien chemin Method.invoke (sert aussi de repli si le MethodHandle
+ *   ne peut pas être créé)
+ *
+ * Dans les deux modes, une exception levée par le contrôleur est remontée dans une
+ * InvocationTargetException, et des arguments incompatibles dans une IllegalArgumentException.
+ */
+public abstract class MethodInvoker {
+
+    public enum Mode {
+        METHOD_HANDLE, REFLECTION;
+
+        /**
+         * @param value "reflection" ou "methodhandle" (insensible à la casse), null pour le défaut
+         * @return Le mode correspondant (METHOD_HANDLE par défaut)
+         */
+        public static Mode parse(String value) {
+            if (value != null && value.trim().equalsIgnoreCase("reflection")) {
+                return REFLECTION;
+            }
+            return METHOD_HANDLE;
+        }
+    }
+
+    protected final Method method;
+
+    protected MethodInvoker(Method method) {
+        this.method = method;
+    }
+
+    /**
+     * Appelle la méthode du contrôleur.
+     *
+     * @param args Les arguments déjà convertis
+     * @return La valeur de retour (null pour void)
+     */
+    public abstract Object invoke(Object[] args)
+            throws InvocationTargetException, IllegalAccessException;
+
+    /**
+     * @return Le mode effectivement utilisé par cet invocateur
+     */
+    public abstract Mode getMode();
+
+    public Method getMethod() {
+        return method;
+    }
+
+    static boolean[] primitives(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        boolean[] primitives = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            primitives[i] = types[i].isPrimitive();
+        }
+        return primitives;
+    }
+
+    /**
+     * Mêmes contrôles que Method.invoke avant l'appel d'un MethodHandle (nombre
+     * d'arguments, null pour un paramètre primitif).
+     *
+     * @return Les arguments à passer au handle (jamais null)
+     */
+    Object[] checkArguments(Object[] args, boolean[] primitives) {
+        int arity = primitives.length;
+        if (args == null ? arity != 0 : args.length != arity) {
+            throw new IllegalArgumentException("wrong number of arguments: "
+                    + (args == null ? 0 : args.length) + " expected: " + arity);
+        }
+        for (int i = 0; i < arity; i++) {
+            if (primitives[i] && args[i] == null) {
+                throw new IllegalArgumentException("argument " + i + " is null for primitive parameter "
+                        + method.getParameterTypes()[i].getName());
+            }
+        }
+        return args == null ? new Object[0] : args;
+    }
+
+    /**
+     * Traduit une erreur levée par un MethodHandle comme Method.invoke : arguments
+     * incompatibles en IllegalArgumentException, le reste en InvocationTargetException.
+     */
+    InvocationTargetException failure(Throwable t, Object[] args) {
+        if (t instanceof ClassCastException && !argumentsMatch(args)) {
+            throw new IllegalArgumentException("argument type mismatch", t);
+        }
+        return new InvocationTargetException(t);
+    }
+
+    private boolean argumentsMatch(Object[] args) {
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < args.length; i++) {
+            Class<?> type = types[i].isPrimitive() ? MethodType.methodType(types[i]).wrap().returnType() : types[i];
+            if (args[i] != null && !type.isInstance(args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Crée l'invocateur d'une route.
+     *
+     * @param method La méthode du contrôleur
+     * @param target L'instance du contrôleur (ignorée pour une méthode static)
+     * @param mode Le mode souhaité
+     * @return L'invocateur, en mode REFLECTION si le MethodHandle n'a pas pu être généré
+     */
+    public static MethodInvoker create(Method method, Object target, Mode mode) {
+        if (mode == Mode.METHOD_HANDLE) {
+            try {
+                MethodHandle handle = spreadHandle(method, target);
+                try {
+                    return defineConstantInvoker(method, handle);
+                } catch (Exception | LinkageError e) {
+                    Log.warn("   ⚠️ Classe cachée impossible pour {}, MethodHandle non constant : {}",
+                            method.getName(), e.toString());
+                }
+                return new MethodHandleInvoker(method, handle);
+            } catch (Exception | LinkageError e) {
+                Log.warn("   ⚠️ MethodHandle impossible pour {}, repli sur Method.invoke : {}",
+                        method.getName(), e.getMessage());
+            }
+        }
+        return new ReflectiveInvoker(method, target);
+    }
+
+    /**
+     * @return Le MethodHandle de la méthode, lié au contrôleur, de type (Object[]) -> Object
+     */
+    private static MethodHandle spreadHandle(Method method, Object target) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle mh = MethodHandles.lookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            mh = mh.bindTo(target);
+        }
+        return mh.asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    // Octets de ConstantHandleInvoker, lus une fois puis redéfinis pour chaque route
+    private static byte[] template;
+
+    private static synchronized byte[] template() throws IOException {
+        if (template == null) {
+            try (InputStream in = MethodInvoker.class.getResourceAsStream("ConstantHandleInvoker.class")) {
+                if (in == null) {
+                    throw new IOException("ConstantHandleInvoker.class introuvable");
+                }
+                template = in.readAllBytes();
+            }
+        }
+        return template;
+    }
+
+    private static MethodInvoker defineConstantInvoker(Method method, MethodHandle handle)
+            throws IOException, ReflectiveOperationException {
+        MethodHandles.Lookup hidden = MethodHandles.lookup()
+                .defineHiddenClassWithClassData(template(), handle, true);
+        MethodHandle constructor = hidden.findConstructor(hidden.lookupClass(),
+                MethodType.methodType(void.class, Method.class));
+        try {
+            return (MethodInvoker) constructor.invoke(method);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static final class ReflectiveInvoker extends MethodInvoker {
+        private final Object target;
+
+        ReflectiveInvoker(Method method, Object target) {
+            super(method);
+            this.target = target;
+            try {
+                method.setAccessible(true);
+            } catch (RuntimeException e) {
+                // Méthode publique d'une classe publique : setAccessible n'est pas nécessaire
+            }
+        }
+
+        @Override
+        public Object invoke(Object[] args) throws InvocationTargetException, IllegalAccessException {
+            return method.invoke(target, args);
+        }
+
+        @Override
+        public Mode getMode() {
+            return Mode.REFLECTION;
+        }
+    }
+
+    /**
+     * Repli de {@link ConstantHandleInvoker} : même appel, mais le handle est un champ
+     * d'instance, que le JIT n'inline pas.
+     */
+    private static final class MethodHandleInvoker extends MethodInvoker {
+        private final MethodHandle handle;
+        private final boolean[] primitives;
+
+        MethodHandleInvoker(Method method, MethodHandle handle) {
+            super(method);
+            this.handle = handle;
+            this.primitives = primitives(method);
+        }
+
+        @Override
+        public Object invoke(Object[] args) throws InvocationTargetException {
+            Object[] spread = checkArguments(args, primitives);
+            try {
+                return (Object) handle.invokeExact(spread);
+            } catch (Throwable t) {
+                throw failure(t, spread);
+            }
+        }
+
+        @Override
+        public Mode getMode() {
+            return Mode.METHOD_HANDLE;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.framework.dispatcher;
+
+import com.framework.util.JsonWriter;
+import com.framework.util.Log;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Export des métriques des routes : format texte Prometheus ou JSON.
+ * Servi par FrontServlet sur la route réservée framework.metrics.path (/_metrics).
+ */
+public final class MetricsEndpoint {
+
+    // Bornes des cases Prometheus : puissances de 2 en microsecondes (1 µs à ~67 s)
+    private static final int PROMETHEUS_OCTAVES = 27;
+
+    private MetricsEndpoint() {
+    }
+
+    /**
+     * @param metrics Les métriques des routes
+     * @param cache Le cache des réponses (null si absent)
+     */
+    public static void writePrometheus(List<RouteMetrics> metrics, ResponseCache cache, Writer out) throws IOException {
+        StringBuilder sb = new StringBuilder(4096);
+
+        sb.append("# HELP framework_requests_total Requêtes traitées par route\n");
+        sb.append("# TYPE framework_requests_total counter\n");
+        for (RouteMetrics m : metrics) {
+            line(sb, "framework_requests_total", m, null, m.getCount());
+        }
+        sb.append("# HELP framework_request_errors_total Réponses en erreur par route et classe de statut\n");
+        sb.append("# TYPE framework_request_errors_total counter\n");
+        for (RouteMetrics m : metrics) {
+            line(sb, "framework_request_errors_total", m, "class=\"4xx\"", m.getClientErrors());
+            line(sb, "framework_request_errors_total", m, "class=\"5xx\"", m.getServerErrors());
+        }
+        sb.append("# HELP framework_requests_in_flight Requêtes en cours par route\n");
+        sb.append("# TYPE framework_requests_in_flight gauge\n");
+        for (RouteMetrics m : metrics) {
+            line(sb, "framework_requests_in_flight", m, null, m.getInFlight());
+        }
+
+        sb.append("# HELP framework_request_duration_seconds Latence par route\n");
+        sb.append("# TYPE framework_request_duration_seconds histogram\n");
+        for (RouteMetrics m : metrics) {
+            long[] counts = m.snapshot();
+            long cumulative = 0;
+            int index = 0;
+            for (int octave = 0; octave < PROMETHEUS_OCTAVES; octave++) {
+                long bound = 1L << octave;
+                while (index < counts.length && RouteMetrics.upperBound(index) <= bound) {
+                    cumulative += counts[index++];
+                }
+                line(sb, "framework_request_duration_seconds_bucket", m,
+                        "le=\"" + seconds(bound * 1000) + "\"", cumulative);
+            }
+            while (index < counts.length) {
+                cumulative += counts[index++];
+            }
+            line(sb, "framework_request_duration_seconds_bucket", m, "le=\"+Inf\"", cumulative);
+            sb.append("framework_request_duration_seconds_sum{route=\"").append(escape(m.getRoute())).append("\"} ")
+                    .append(seconds(m.getTotalNanos())).append('\n');
+            line(sb, "framework_request_duration_seconds_count", m, null, cumulative);
+        }
+
+        if (cache != null) {
+            sb.append("# TYPE framework_cache_hits_total counter\n");
+            sb.append("framework_cache_hits_total ").append(cache.getHitCount()).append('\n');
+            sb.append("# TYPE framework_cache_misses_total counter\n");
+            sb.append("framework_cache_misses_total ").append(cache.getMissCount()).append('\n');
+            sb.append("# TYPE framework_cache_evictions_total counter\n");
+            sb.append("framework_cache_evictions_total ").append(cache.getEvictionCount()).append('\n');
+            sb.append("# TYPE framework_cache_bytes gauge\n");
+            sb.append("framework_cache_bytes ").append(cache.getBytes()).append('\n');
+        }
+        sb.append("# TYPE framework_log_dropped_total counter\n");
+        sb.append("framework_log_dropped_total ").append(Log.getDroppedCount()).append('\n');
+
+        out.write(sb.toString());
+    }
+
+    /**
+     * Même contenu en JSON, avec les percentiles calculés (millisecondes).
+     */
+    public static void writeJson(List<RouteMetrics> metrics, ResponseCache cache, OutputStream out) throws IOException {
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject();
+            json.name("routes").beginArray();
+            for (RouteMetrics m : metrics) {
+                long[] counts = m.snapshot();
+                long count = m.getCount();
+                json.beginObject();
+                json.name("route").value(m.getRoute());
+                json.name("count").value(count);
+                json.name("clientErrors").value(m.getClientErrors());
+                json.name("serverErrors").value(m.getServerErrors());
+                json.name("inFlight").value(m.getInFlight());
+                json.name("latencyMs").beginObject();
+                json.name("mean").value(count > 0 ? m.getTotalNanos() / (double) count / 1e6 : 0);
+                json.name("p50").value(RouteMetrics.percentile(counts, 50) / 1e3);
+                json.name("p90").value(RouteMetrics.percentile(counts, 90) / 1e3);
+                json.name("p99").value(RouteMetrics.percentile(counts, 99) / 1e3);
+                json.name("max").value(m.getMaxNanos() / 1e6);
+                json.endObject();
+                json.endObject();
+            }
+            json.endArray();
+            if (cache != null) {
+                json.name("cache").beginObject();
+                json.name("hits").value(cache.getHitCount());
+                json.name("misses").value(cache.getMissCount());
+                json.name("evictions").value(cache.getEvictionCount());
+                json.name("entries").value(cache.size());
+                json.name("bytes").value(cache.getBytes());
+                json.endObject();
+            }
+            json.name("logDropped").value(Log.getDroppedCount());
+            json.endObject();
+        }
+    }
+
+    private static void line(StringBuilder sb, String name, RouteMetrics m, String extraLabel, long value) {
+        sb.append(name).append("{route=\"").append(escape(m.getRoute())).append('"');
+        if (extraLabel != null) {
+            sb.append(',').append(extraLabel);
+        }
+        sb.append("} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9).replaceAll("0+$", "").replaceAll("\\.$", ".0");
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
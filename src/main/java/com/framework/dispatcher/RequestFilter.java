@@ -1,5 +1,6 @@
 package com.framework.dispatcher;
 
+import com.framework.util.Log;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import java.io.IOException;
@@ -8,7 +9,7 @@ public class RequestFilter implements Filter {
 
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
-        System.out.println(" Filter initialized");
+        Log.info(" Filter initialized");
     }
 
     @Override
@@ -20,11 +21,11 @@ public class RequestFilter implements Filter {
         
         String path = req.getRequestURI().substring(req.getContextPath().length());
         
-        System.out.println(" Filter - Path: " + path);
+        Log.debug(" Filter - Path: {}", path);
         
         // Raha URL manomboka amin'ny /front, alefa any amin'ny FrontServlet
         if (path.startsWith("/front")) {
-            System.out.println(" Redirect to FrontServlet: " + path);
+            Log.debug(" Redirect to FrontServlet: {}", path);
             req.getRequestDispatcher(path).forward(request, response);
         } else {
             // Raha tsy /front, avela handeha
@@ -0,0 +1,292 @@
+package com.framework.dispatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache des réponses des routes @Cacheable : octets finaux de la réponse, par clé
+ * (route + variables du path + paramètres).
+ *
+ * - Budget total en octets, réparti sur des segments LRU indépendants (un verrou
+ *   par segment, pas de verrou global)
+ * - Expiration par TTL, vérifiée à la lecture
+ * - Invalidation explicite par route ou totale
+ * - Les corps plus gros que offHeapThreshold sont stockés hors du heap (ByteBuffer direct)
+ *
+ * Le cache est publié dans l'attribut de contexte "RESPONSE_CACHE".
+ */
+public final class ResponseCache {
+
+    /** Attribut de requête portant la clé d'une réponse à mettre en cache. */
+    public static final String KEY_ATTRIBUTE = ResponseCache.class.getName() + ".key";
+
+    private static final int SEGMENTS = 16;
+
+    /**
+     * Réponse en cache.
+     */
+    public static final class Entry {
+        final String route;
+        final String contentType;
+        final String etag;
+        final byte[] heap;
+        final ByteBuffer direct;
+        final int size;
+        final long expiresAt;
+
+        Entry(String route, String contentType, String etag, byte[] body, boolean offHeap, long expiresAt) {
+            this.route = route;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.size = body.length;
+            this.expiresAt = expiresAt;
+            if (offHeap) {
+                this.heap = null;
+                this.direct = ByteBuffer.allocateDirect(body.length).put(body).flip();
+            } else {
+                this.heap = body;
+                this.direct = null;
+            }
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return L'ETag de la réponse, ou null
+         */
+        public String getETag() {
+            return etag;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isOffHeap() {
+            return direct != null;
+        }
+
+        /**
+         * @return Le corps de la réponse (copié sur le heap pour une entrée hors heap)
+         */
+        public byte[] getBody() {
+            if (heap != null) {
+                return heap;
+            }
+            byte[] copy = new byte[size];
+            direct.duplicate().get(copy);
+            return copy;
+        }
+
+        /**
+         * Écrit le corps de la réponse (par blocs pour une entrée hors heap).
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            if (heap != null) {
+                out.write(heap);
+                return;
+            }
+            ByteBuffer source = direct.duplicate();
+            byte[] chunk = new byte[Math.min(size, 8192)];
+            while (source.hasRemaining()) {
+                int n = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+        }
+    }
+
+    private static final class Segment {
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxBytes;
+        private long bytes;
+
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Entry get(String key, long now) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - now <= 0) {
+                entries.remove(key);
+                bytes -= entry.size;
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized int put(String key, Entry entry) {
+            Entry previous = entries.put(key, entry);
+            bytes += entry.size - (previous != null ? previous.size : 0);
+            int evicted = 0;
+            // Ordre d'accès : le premier élément est le moins récemment utilisé
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Entry victim = eldest.next();
+                eldest.remove();
+                bytes -= victim.size;
+                evicted++;
+            }
+            return evicted;
+        }
+
+        synchronized void removeIf(String route) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (route == null || entry.route.equals(route)) {
+                    it.remove();
+                    bytes -= entry.size;
+                }
+            }
+        }
+
+        synchronized int count() {
+            return entries.size();
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+    }
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long maxBytes;
+    private final int offHeapThreshold;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxBytes Budget total des corps en cache, en octets
+     * @param offHeapThreshold Taille à partir de laquelle un corps est stocké hors heap (-1 : jamais)
+     */
+    public ResponseCache(long maxBytes, int offHeapThreshold) {
+        this.maxBytes = maxBytes;
+        this.offHeapThreshold = offHeapThreshold;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maxBytes / SEGMENTS);
+        }
+    }
+
+    /**
+     * Construit la clé d'une requête sans lier d'argument.
+     *
+     * @param route La route ("GET /emp/{id}")
+     * @param pathValues Les variables du path
+     * @param params Les paramètres de la clé (vide : toute la query string)
+     */
+    public static String key(String route, String[] pathValues, HttpServletRequest request, String[] params) {
+        StringBuilder sb = new StringBuilder(route);
+        for (String value : pathValues) {
+            sb.append('\0').append(value);
+        }
+        if (params.length == 0) {
+            String query = request.getQueryString();
+            if (query != null) {
+                sb.append('?').append(query);
+            }
+        } else {
+            for (String param : params) {
+                sb.append('\0').append(param).append('=').append(request.getParameter(param));
+            }
+        }
+        return sb.toString();
+    }
+
+    private Segment segment(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * @return La réponse en cache, ou null (absente ou expirée)
+     */
+    public Entry get(String key) {
+        Entry entry = segment(key).get(key, System.nanoTime());
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Met une réponse en cache. Un corps plus gros qu'un segment n'est pas conservé.
+     *
+     * @param etag L'ETag de la réponse (null si aucun)
+     */
+    public void put(String key, String route, String contentType, String etag, byte[] body, long ttlMillis) {
+        Segment segment = segment(key);
+        if (body.length > segment.maxBytes || ttlMillis <= 0) {
+            return;
+        }
+        boolean offHeap = offHeapThreshold >= 0 && body.length >= offHeapThreshold;
+        Entry entry = new Entry(route, contentType, etag, body, offHeap, System.nanoTime() + ttlMillis * 1_000_000L);
+        int evicted = segment.put(key, entry);
+        if (evicted > 0) {
+            evictions.add(evicted);
+        }
+    }
+
+    /**
+     * Supprime toutes les réponses d'une route ("GET /emp/{id}").
+     */
+    public void invalidate(String route) {
+        for (Segment segment : segments) {
+            segment.removeIf(route);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.removeIf(null);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return Le nombre de réponses en cache
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count();
+        }
+        return size;
+    }
+
+    /**
+     * @return La taille totale des corps en cache, en octets
+     */
+    public long getBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.bytes();
+        }
+        return bytes;
+    }
+}
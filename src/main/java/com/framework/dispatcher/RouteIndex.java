@@ -0,0 +1,130 @@
+package com.framework.dispatcher;
+
+import com.framework.annotation.HttpMethod;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Index des routes généré à la compilation par {@link com.framework.processor.RouteIndexProcessor}.
+ *
+ * Une ligne par route, champs séparés par des tabulations :
+ * méthode HTTP, URL, nom binaire du contrôleur, nom de la méthode, types des paramètres
+ * (noms canoniques après effacement, séparés par des virgules). Les lignes commençant
+ * par # sont des commentaires.
+ *
+ * Au démarrage, FrontServlet lit cet index au lieu de scanner le classpath : seules les
+ * classes des contrôleurs sont chargées.
+ */
+public final class RouteIndex {
+
+    public static final String RESOURCE = "META-INF/framework/routes.index";
+
+    private RouteIndex() {
+    }
+
+    public static final class Entry {
+        private final HttpMethod httpMethod;
+        private final String url;
+        private final String className;
+        private final String methodName;
+        private final String[] parameterTypes;
+
+        public Entry(HttpMethod httpMethod, String url, String className, String methodName, String[] parameterTypes) {
+            this.httpMethod = httpMethod;
+            this.url = url;
+            this.className = className;
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        public HttpMethod getHttpMethod() {
+            return httpMethod;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        /**
+         * @return La ligne correspondante dans le fichier d'index
+         */
+        public String toLine() {
+            return httpMethod + "\t" + url + "\t" + className + "\t" + methodName + "\t"
+                    + String.join(",", parameterTypes);
+        }
+
+        static Entry parse(String line) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("Ligne d'index invalide : " + line);
+            }
+            String[] types = fields[4].isEmpty() ? new String[0] : fields[4].split(",");
+            return new Entry(HttpMethod.valueOf(fields[0]), fields[1], fields[2], fields[3], types);
+        }
+
+        /**
+         * Retrouve la méthode du contrôleur (nom et types des paramètres).
+         */
+        public Method resolve(Class<?> controller) throws NoSuchMethodException {
+            for (Method method : controller.getDeclaredMethods()) {
+                if (method.getName().equals(methodName) && matches(method.getParameterTypes())) {
+                    return method;
+                }
+            }
+            throw new NoSuchMethodException(className + "." + methodName + "(" + String.join(", ", parameterTypes) + ")");
+        }
+
+        private boolean matches(Class<?>[] types) {
+            if (types.length != parameterTypes.length) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                if (!parameterTypes[i].equals(types[i].getCanonicalName())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Lit tous les index visibles par le class loader (un par JAR ou répertoire de classes).
+     *
+     * @return Les routes indexées, ou null si aucun index n'est présent
+     */
+    public static List<Entry> load(ClassLoader classLoader) throws IOException {
+        Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+        if (!resources.hasMoreElements()) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>();
+        while (resources.hasMoreElements()) {
+            try (InputStream in = resources.nextElement().openStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        entries.add(Entry.parse(line));
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,96 @@
+package com.framework.dispatcher;
+
+import com.framework.annotation.*;
+import com.framework.annotations.Delete;
+import com.framework.annotations.Get;
+import com.framework.annotations.Post;
+import com.framework.annotations.Put;
+import java.lang.annotation.Annotation;
+
+/**
+ * Méthode HTTP et URL déclarées par les annotations d'une méthode de contrôleur.
+ *
+ * La résolution est partagée entre le scan à l'exécution (java.lang.reflect.Method)
+ * et le processeur d'annotations (javax.lang.model Element) : les deux exposent
+ * getAnnotation(Class), d'où l'interface {@link AnnotationSource}.
+ */
+public final class RouteMapping {
+
+    /**
+     * Source d'annotations : Method::getAnnotation ou Element::getAnnotation.
+     */
+    @FunctionalInterface
+    public interface AnnotationSource {
+        <A extends Annotation> A getAnnotation(Class<A> type);
+    }
+
+    private final HttpMethod httpMethod;
+    private final String url;
+
+    private RouteMapping(HttpMethod httpMethod, String url) {
+        this.httpMethod = httpMethod;
+        this.url = url.startsWith("/") ? url : "/" + url;
+    }
+
+    public HttpMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    /**
+     * @return L'URL, toujours préfixée par "/"
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Lit les annotations de mapping, dans l'ordre de priorité historique :
+     * @GetMapping, @PostMapping, @PutMapping, @DeleteMapping, @RequestMapping,
+     * puis @Get, @Post, @Put, @Delete (Sprint 9) et enfin @Url (compatibilité, GET).
+     *
+     * @return Le mapping, ou null si la méthode n'est pas une route
+     */
+    public static RouteMapping of(AnnotationSource source) {
+        GetMapping getMapping = source.getAnnotation(GetMapping.class);
+        if (getMapping != null) {
+            return new RouteMapping(HttpMethod.GET, getMapping.value());
+        }
+        PostMapping postMapping = source.getAnnotation(PostMapping.class);
+        if (postMapping != null) {
+            return new RouteMapping(HttpMethod.POST, postMapping.value());
+        }
+        PutMapping putMapping = source.getAnnotation(PutMapping.class);
+        if (putMapping != null) {
+            return new RouteMapping(HttpMethod.PUT, putMapping.value());
+        }
+        DeleteMapping deleteMapping = source.getAnnotation(DeleteMapping.class);
+        if (deleteMapping != null) {
+            return new RouteMapping(HttpMethod.DELETE, deleteMapping.value());
+        }
+        RequestMapping requestMapping = source.getAnnotation(RequestMapping.class);
+        if (requestMapping != null) {
+            return new RouteMapping(requestMapping.method(), requestMapping.value());
+        }
+        Get get = source.getAnnotation(Get.class);
+        if (get != null) {
+            return new RouteMapping(HttpMethod.GET, get.value());
+        }
+        Post post = source.getAnnotation(Post.class);
+        if (post != null) {
+            return new RouteMapping(HttpMethod.POST, post.value());
+        }
+        Put put = source.getAnnotation(Put.class);
+        if (put != null) {
+            return new RouteMapping(HttpMethod.PUT, put.value());
+        }
+        Delete delete = source.getAnnotation(Delete.class);
+        if (delete != null) {
+            return new RouteMapping(HttpMethod.DELETE, delete.value());
+        }
+        Url legacy = source.getAnnotation(Url.class);
+        if (legacy != null) {
+            return new RouteMapping(HttpMethod.GET, legacy.value());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,182 @@
+package com.framework.dispatcher;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'une route : requêtes, erreurs (4xx / 5xx), requêtes en cours et
+ * histogramme des latences.
+ *
+ * L'histogramme est à échelle logarithmique (façon HDR) : 4 sous-intervalles par
+ * puissance de 2, en microsecondes, de 1 µs à environ 38 h, soit une précision
+ * d'environ 20 %. Chaque case est un LongAdder : l'enregistrement ne prend aucun
+ * verrou et n'alloue rien.
+ */
+public final class RouteMetrics {
+
+    /** Nombre de cases de l'histogramme. */
+    static final int BUCKETS = 148;
+
+    private final String route;
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public RouteMetrics(String route) {
+        this.route = route;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Début d'une requête.
+     *
+     * @return L'instant de début, à passer à {@link #end}
+     */
+    public long begin() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Fin d'une requête.
+     *
+     * @param start La valeur retournée par {@link #begin()}
+     * @param status Le statut HTTP de la réponse
+     */
+    public void end(long start, int status) {
+        long nanos = System.nanoTime() - start;
+        inFlight.decrement();
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        buckets[index(nanos / 1000)].increment();
+    }
+
+    /**
+     * Listener qui enregistre la fin d'une requête async (onComplete est toujours appelé,
+     * y compris après un timeout ou une erreur).
+     */
+    public AsyncListener asyncRecorder(long start, HttpServletResponse response) {
+        return new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                end(start, response.getStatus());
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        };
+    }
+
+    static int index(long micros) {
+        if (micros < 4) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - 2)) & 3;
+        return Math.min((exponent - 1) * 4 + sub, BUCKETS - 1);
+    }
+
+    /**
+     * @return La borne supérieure (exclue) de la case, en microsecondes
+     */
+    static long upperBound(int index) {
+        if (index < 4) {
+            return index + 1;
+        }
+        int exponent = index / 4 + 1;
+        int sub = index % 4;
+        return (5L + sub) << (exponent - 2);
+    }
+
+    /**
+     * @return Le nombre de requêtes terminées (somme des cases de l'histogramme)
+     */
+    public long getCount() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    public long getClientErrors() {
+        return clientErrors.sum();
+    }
+
+    public long getServerErrors() {
+        return serverErrors.sum();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return Une copie des cases de l'histogramme
+     */
+    long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @param counts Une copie de l'histogramme ({@link #snapshot()})
+     * @param percentile Le percentile voulu (0 à 100)
+     * @return La latence correspondante, en microsecondes (borne haute de la case)
+     */
+    static long percentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+}
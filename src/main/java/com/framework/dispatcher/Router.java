@@ -0,0 +1,251 @@
+package com.framework.dispatcher;
+
+import com.framework.annotation.HttpMethod;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routeur compilé au démarrage : un arbre de segments (trie) par méthode HTTP.
+ *
+ * Chaque segment d'un pattern est soit littéral ("/emp"), soit une variable
+ * ("/{id}"), soit mixte ("/{id}.json", résolu par une petite regex locale au segment).
+ * Priorité lors du matching : littéral, puis mixte, puis variable.
+ *
+ * Le coût d'un lookup dépend du nombre de segments de l'URL et non du nombre de routes.
+ * Les valeurs des variables sont capturées en une seule passe dans un tableau,
+ * dans l'ordre d'apparition des {param} dans le pattern.
+ *
+ * @param <T> Le type du handler associé à chaque route
+ */
+public class Router<T> {
+
+    private static final Pattern PARAM_PATTERN = Pattern.compile("\\{([^}]+)\\}");
+
+    private final EnumMap<HttpMethod, Node<T>> roots = new EnumMap<>(HttpMethod.class);
+    private int maxParams = 0;
+    private int size = 0;
+
+    /**
+     * Un résultat de routage : le handler trouvé et les valeurs des variables du path.
+     */
+    public static final class Match<T> {
+        private final T handler;
+        private final String[] values;
+
+        Match(T handler, String[] values) {
+            this.handler = handler;
+            this.values = values;
+        }
+
+        public T getHandler() {
+            return handler;
+        }
+
+        /**
+         * @param index La position de la variable dans le pattern (0 = premier {param})
+         * @return La valeur capturée
+         */
+        public String getValue(int index) {
+            return values[index];
+        }
+
+        public String[] getValues() {
+            return values;
+        }
+    }
+
+    private static final class Node<T> {
+        Map<String, Node<T>> literals;
+        List<Node<T>> mixed;
+        Node<T> param;
+
+        // Pour les segments mixtes uniquement
+        Pattern segmentRegex;
+        String segmentSource;
+        int groupCount;
+
+        T handler;
+
+        Node<T> literal(String segment) {
+            if (literals == null) {
+                literals = new HashMap<>();
+            }
+            return literals.computeIfAbsent(segment, k -> new Node<>());
+        }
+
+        Node<T> param() {
+            if (param == null) {
+                param = new Node<>();
+            }
+            return param;
+        }
+
+        Node<T> mixed(String segment) {
+            if (mixed == null) {
+                mixed = new ArrayList<>();
+            }
+            for (Node<T> child : mixed) {
+                if (child.segmentSource.equals(segment)) {
+                    return child;
+                }
+            }
+            Node<T> child = new Node<>();
+            child.segmentSource = segment;
+            StringBuilder regex = new StringBuilder();
+            Matcher matcher = PARAM_PATTERN.matcher(segment);
+            int last = 0;
+            while (matcher.find()) {
+                regex.append(Pattern.quote(segment.substring(last, matcher.start())));
+                regex.append("([^/]+)");
+                last = matcher.end();
+                child.groupCount++;
+            }
+            regex.append(Pattern.quote(segment.substring(last)));
+            child.segmentRegex = Pattern.compile(regex.toString());
+            mixed.add(child);
+            return child;
+        }
+    }
+
+    /**
+     * Enregistre une route. Si la même route (méthode + pattern) existe déjà,
+     * la première enregistrée est conservée.
+     *
+     * @param httpMethod La méthode HTTP
+     * @param pattern Le pattern d'URL (ex: /emp/{id})
+     * @param handler Le handler associé
+     * @return true si la route a été ajoutée, false si elle existait déjà
+     */
+    public boolean add(HttpMethod httpMethod, String pattern, T handler) {
+        Node<T> node = roots.computeIfAbsent(httpMethod, k -> new Node<>());
+        int params = 0;
+
+        int start = pattern.startsWith("/") ? 1 : 0;
+        while (true) {
+            int end = pattern.indexOf('/', start);
+            String segment = end == -1 ? pattern.substring(start) : pattern.substring(start, end);
+
+            if (segment.indexOf('{') == -1) {
+                node = node.literal(segment);
+            } else if (segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('{', 1) == -1) {
+                node = node.param();
+                params++;
+            } else {
+                node = node.mixed(segment);
+                params += node.groupCount;
+            }
+
+            if (end == -1) {
+                break;
+            }
+            start = end + 1;
+        }
+
+        if (node.handler != null) {
+            return false;
+        }
+        node.handler = handler;
+        maxParams = Math.max(maxParams, params);
+        size++;
+        return true;
+    }
+
+    /**
+     * Cherche la route correspondant à la méthode et au path.
+     *
+     * @param httpMethod La méthode HTTP
+     * @param path Le path (doit commencer par "/")
+     * @return Le résultat du routage, ou null si aucune route ne correspond
+     */
+    public Match<T> match(HttpMethod httpMethod, String path) {
+        Node<T> root = roots.get(httpMethod);
+        if (root == null || !path.startsWith("/")) {
+            return null;
+        }
+        String[] captures = new String[maxParams];
+        int[] count = new int[1];
+        T handler = match(root, path, 1, captures, 0, count);
+        if (handler == null) {
+            return null;
+        }
+        return new Match<>(handler, count[0] == captures.length ? captures : Arrays.copyOf(captures, count[0]));
+    }
+
+    private T match(Node<T> node, String path, int start, String[] captures, int captured, int[] count) {
+        int end = path.indexOf('/', start);
+        boolean last = end == -1;
+        if (last) {
+            end = path.length();
+        }
+
+        // 1. Segment littéral
+        if (node.literals != null) {
+            Node<T> child = node.literals.get(path.substring(start, end));
+            if (child != null) {
+                T found = last ? leaf(child, captured, count) : match(child, path, end + 1, captures, captured, count);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+
+        // 2. Segment mixte ({id}.json)
+        if (node.mixed != null) {
+            for (Node<T> child : node.mixed) {
+                Matcher matcher = child.segmentRegex.matcher(path).region(start, end);
+                if (matcher.matches()) {
+                    for (int g = 1; g <= child.groupCount; g++) {
+                        captures[captured + g - 1] = matcher.group(g);
+                    }
+                    int next = captured + child.groupCount;
+                    T found = last ? leaf(child, next, count) : match(child, path, end + 1, captures, next, count);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+        }
+
+        // 3. Variable {param} : segment non vide
+        if (node.param != null && end > start) {
+            captures[captured] = path.substring(start, end);
+            T found = last ? leaf(node.param, captured + 1, count)
+                           : match(node.param, path, end + 1, captures, captured + 1, count);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        return null;
+    }
+
+    private T leaf(Node<T> node, int captured, int[] count) {
+        if (node.handler != null) {
+            count[0] = captured;
+        }
+        return node.handler;
+    }
+
+    /**
+     * @return Le nombre de routes enregistrées
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Extrait les noms des variables d'un pattern, dans l'ordre.
+     *
+     * @param pattern Le pattern d'URL (ex: /emp/{id}/dept/{deptId})
+     * @return La liste des noms de variables
+     */
+    public static List<String> paramNames(String pattern) {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PARAM_PATTERN.matcher(pattern);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+}
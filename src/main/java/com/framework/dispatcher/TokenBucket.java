@@ -0,0 +1,54 @@
+package com.framework.dispatcher;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons d'une route (@RateLimit), sans verrou.
+ *
+ * Le seau tient dans un seul AtomicLong : l'instant théorique où il sera de nouveau plein
+ * (algorithme GCRA). Une requête avance cet instant d'un intervalle (1 / débit) ; elle est
+ * refusée s'il dépasse maintenant de plus de burst intervalles. Le refus donne le délai
+ * exact avant le prochain jeton.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param permitsPerSecond Débit soutenu
+     * @param burst Nombre de requêtes acceptées d'un coup, seau plein
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Débit et burst doivent être positifs : "
+                    + permitsPerSecond + ", " + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Prend un jeton.
+     *
+     * @return 0 si le jeton a été pris, sinon le délai avant le prochain jeton (nanosecondes)
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long current;
+        long next;
+        do {
+            current = fullAt.get();
+            // Seau plein depuis un moment : on repart de maintenant
+            long base = current - now < 0 ? now : current;
+            next = base + intervalNanos;
+            long excess = next - now - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+        } while (!fullAt.compareAndSet(current, next));
+        return 0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.framework.processor;
+
+import com.framework.annotation.Controller;
+import com.framework.dispatcher.RouteIndex;
+import com.framework.dispatcher.RouteMapping;
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Génère {@link RouteIndex#RESOURCE} à la compilation de l'application : une ligne par
+ * méthode de @Controller portant une annotation de mapping (voir {@link RouteMapping}).
+ *
+ * Enregistré dans META-INF/services : javac le découvre dès que le JAR du framework est
+ * sur le classpath (sur un JDK récent, ajouter -proc:full ou déclarer le JAR dans
+ * annotationProcessorPaths).
+ *
+ * Compilation partielle (IDE, compilation incrémentale) : l'index existant est relu et
+ * fusionné. Les routes des contrôleurs recompilés sont régénérées ; celles des autres
+ * contrôleurs sont conservées tant que leur classe existe et porte toujours @Controller.
+ */
+@SupportedAnnotationTypes("com.framework.annotation.Controller")
+public class RouteIndexProcessor extends AbstractProcessor {
+
+    // Trié pour que l'index soit identique d'une compilation à l'autre
+    private final Set<String> lines = new TreeSet<>();
+    // Noms binaires des contrôleurs de cette compilation : leurs anciennes lignes sont remplacées
+    private final Set<String> controllers = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        if (round.processingOver()) {
+            if (!controllers.isEmpty()) {
+                mergePrevious();
+                write();
+            }
+            return false;
+        }
+
+        for (Element element : round.getElementsAnnotatedWith(Controller.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement controller = (TypeElement) element;
+            String className = processingEnv.getElementUtils().getBinaryName(controller).toString();
+            controllers.add(className);
+
+            for (Element member : controller.getEnclosedElements()) {
+                if (member.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+                ExecutableElement method = (ExecutableElement) member;
+                RouteMapping mapping = RouteMapping.of(method::getAnnotation);
+                if (mapping != null) {
+                    lines.add(new RouteIndex.Entry(mapping.getHttpMethod(), mapping.getUrl(), className,
+                            method.getSimpleName().toString(), parameterTypes(method)).toLine());
+                }
+            }
+        }
+        return false;
+    }
+
+    // Noms canoniques après effacement, comme Class.getCanonicalName() à l'exécution
+    private String[] parameterTypes(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        String[] types = new String[parameters.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = processingEnv.getTypeUtils().erasure(parameters.get(i).asType()).toString()
+                    .replace("...", "[]");
+        }
+        return types;
+    }
+
+    /**
+     * Reprend les lignes de l'index déjà présent dans le répertoire de sortie pour les
+     * contrôleurs qui n'ont pas été recompilés.
+     */
+    private void mergePrevious() {
+        int kept = 0;
+        try {
+            FileObject previous = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", RouteIndex.RESOURCE);
+            try (Reader in = previous.openReader(true); BufferedReader reader = new BufferedReader(in)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length == 5 && !controllers.contains(fields[2]) && isController(fields[2])) {
+                        lines.add(line);
+                        kept++;
+                    }
+                }
+            }
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            // Première compilation : pas d'index à fusionner
+        } catch (IOException | IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Lecture de l'index existant impossible, régénéré sans fusion : " + e.getMessage());
+        }
+        if (kept > 0) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Index des routes : " + kept + " route(s) conservée(s) des contrôleurs non recompilés");
+        }
+    }
+
+    // La classe existe toujours (source ou .class) et porte encore @Controller
+    private boolean isController(String binaryName) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+        return type != null && type.getAnnotation(Controller.class) != null;
+    }
+
+    private void write() {
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", RouteIndex.RESOURCE);
+            try (Writer out = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                out.write("# Généré par " + getClass().getName() + "\n");
+                for (String line : lines) {
+                    out.write(line);
+                    out.write('\n');
+                }
+            }
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Index des routes : " + lines.size() + " route(s)");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Écriture de " + RouteIndex.RESOURCE + " impossible : " + e.getMessage());
+        }
+    }
+}
@@ -4,259 +4,421 @@ import com.framework.annotation.*;
 import com.framework.annotations.API;
 import com.framework.annotations.Get;
 import com.framework.annotations.Json;
+import com.framework.dispatcher.BatchRequest;
+import com.framework.dispatcher.BindingPlan;
+import com.framework.dispatcher.BlockingExecutor;
+import com.framework.dispatcher.CompressionResponse;
+import com.framework.dispatcher.ConcurrencyLimiter;
+import com.framework.dispatcher.DeflaterPool;
+import com.framework.dispatcher.ETags;
+import com.framework.dispatcher.FormBodyParser;
+import com.framework.dispatcher.HttpStatusException;
+import com.framework.dispatcher.MethodInvoker;
+import com.framework.dispatcher.MetricsEndpoint;
+import com.framework.dispatcher.ResponseCache;
+import com.framework.dispatcher.RouteIndex;
+import com.framework.dispatcher.RouteMapping;
+import com.framework.dispatcher.RouteMetrics;
+import com.framework.dispatcher.Router;
+import com.framework.dispatcher.TokenBucket;
 import com.framework.util.ApiResponse;
+import com.framework.util.ClassScanner;
+import com.framework.util.JsonWriter;
+import com.framework.util.Log;
 import com.framework.util.UploadedFile;
 import com.framework.model.ModelView;
 import jakarta.servlet.*;
 import jakarta.servlet.annotation.MultipartConfig;
 import jakarta.servlet.http.*;
-import jakarta.servlet.http.Part;
 import java.io.*;
 import java.lang.reflect.*;
-import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.BaseStream;
 
-@MultipartConfig
+// Limites appliquées par le conteneur pendant la réception des parts ; web.xml
+// (<multipart-config>) les remplace. @Multipart ne fait que les resserrer par route
+@MultipartConfig(maxFileSize = UploadedFile.MAX_FILE_SIZE, maxRequestSize = UploadedFile.MAX_REQUEST_SIZE)
 public class FrontServlet extends HttpServlet {
 
     private static class UrlPattern {
         String pattern;
-        Pattern regex;
         Method method;
         Object controller;
         List<String> paramNames;
         HttpMethod httpMethod;
+        MethodInvoker invoker;
+        BindingPlan bindingPlan;
+        boolean apiRest;
+        long asyncTimeout;
+        boolean virtualThread;
+        String route;
+        Cacheable cacheable;
+        MethodInvoker versionInvoker;
+        BindingPlan versionPlan;
+        boolean compress;
+        RouteMetrics metrics;
+        TokenBucket rateLimit;
+        ConcurrencyLimiter bulkhead;
+        int bulkheadRetryAfter;
 
-        UrlPattern(String pattern, Method method, Object controller, HttpMethod httpMethod) {
+        UrlPattern(String pattern, Method method, Object controller, HttpMethod httpMethod,
+                   MethodInvoker.Mode invokerMode, long uploadMemoryThreshold, long maxBodySize, long defaultAsyncTimeout,
+                   boolean defaultVirtualThread, boolean defaultCompress) {
             this.pattern = pattern;
             this.method = method;
             this.controller = controller;
             this.httpMethod = httpMethod;
-            this.paramNames = new ArrayList<>();
-            
-            String regexPattern = pattern;
-            
-            Pattern paramPattern = Pattern.compile("\\{([^}]+)\\}");
-            Matcher matcher = paramPattern.matcher(regexPattern);
-            
-            while (matcher.find()) {
-                this.paramNames.add(matcher.group(1));
+            this.paramNames = Router.paramNames(pattern);
+            this.invoker = MethodInvoker.create(method, controller, invokerMode);
+            this.bindingPlan = BindingPlan.compile(method, paramNames, uploadMemoryThreshold, maxBodySize);
+            // Sprint 9 : détection API REST
+            this.apiRest = method.isAnnotationPresent(API.class)
+                    || method.isAnnotationPresent(Get.class)
+                    || method.isAnnotationPresent(Json.class);
+            AsyncTimeout timeout = method.getAnnotation(AsyncTimeout.class);
+            this.asyncTimeout = timeout != null ? timeout.value() : defaultAsyncTimeout;
+            // La méthode l'emporte sur la classe, la classe sur la configuration
+            VirtualThread virtual = method.getAnnotation(VirtualThread.class);
+            if (virtual == null) {
+                virtual = method.getDeclaringClass().getAnnotation(VirtualThread.class);
+            }
+            this.virtualThread = virtual != null ? virtual.value() : defaultVirtualThread;
+            Compress compression = method.getAnnotation(Compress.class);
+            if (compression == null) {
+                compression = method.getDeclaringClass().getAnnotation(Compress.class);
+            }
+            this.compress = compression != null ? compression.value() : defaultCompress;
+            // Limites propres à la route : une annotation de classe donne à chaque route son compteur
+            RateLimit limit = method.getAnnotation(RateLimit.class);
+            if (limit == null) {
+                limit = method.getDeclaringClass().getAnnotation(RateLimit.class);
+            }
+            if (limit != null) {
+                int burst = limit.burst() >= 0 ? limit.burst() : (int) Math.max(1, Math.ceil(limit.permitsPerSecond()));
+                this.rateLimit = new TokenBucket(limit.permitsPerSecond(), burst);
+            }
+            Bulkhead bulkheadLimit = method.getAnnotation(Bulkhead.class);
+            if (bulkheadLimit == null) {
+                bulkheadLimit = method.getDeclaringClass().getAnnotation(Bulkhead.class);
+            }
+            if (bulkheadLimit != null) {
+                this.bulkhead = new ConcurrencyLimiter(bulkheadLimit.maxConcurrent());
+                this.bulkheadRetryAfter = Math.max(0, bulkheadLimit.retryAfter());
+            }
+            this.route = httpMethod + " " + pattern;
+            this.cacheable = method.getAnnotation(Cacheable.class);
+            if (cacheable != null && httpMethod != HttpMethod.GET) {
+                Log.warn("   @Cacheable ignoré sur une route {} : {}", httpMethod, pattern);
+                this.cacheable = null;
+            }
+            Versioned versioned = method.getAnnotation(Versioned.class);
+            if (versioned != null) {
+                Method versionMethod = Arrays.stream(method.getDeclaringClass().getDeclaredMethods())
+                        .filter(m -> m.getName().equals(versioned.value()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("@Versioned : méthode " + versioned.value()
+                                + " introuvable dans " + method.getDeclaringClass().getName()));
+                this.versionInvoker = MethodInvoker.create(versionMethod, controller, invokerMode);
+                this.versionPlan = BindingPlan.compile(versionMethod, paramNames, uploadMemoryThreshold, maxBodySize);
             }
-            
-            regexPattern = regexPattern.replaceAll("\\{[^}]+\\}", "([^/]+)");
-            regexPattern = "^" + regexPattern + "$";
-            
-            this.regex = Pattern.compile(regexPattern);
         }
+    }
 
-        boolean matches(String url, String method) {
-            return this.regex.matcher(url).matches() && this.httpMethod.name().equals(method);
+    // Contenu de framework.properties (classpath), chargé au premier appel de config()
+    private Properties fileConfig;
+
+    /**
+     * Lit un paramètre de configuration du framework : init-param du servlet,
+     * puis context-param, puis propriété système (-Dname=...), puis framework.properties.
+     */
+    private String config(String name, String defaultValue) {
+        String value = getServletConfig() != null ? getInitParameter(name) : null;
+        if (value == null && getServletConfig() != null) {
+            value = getServletContext().getInitParameter(name);
+        }
+        if (value == null) {
+            value = System.getProperty(name);
         }
+        if (value == null) {
+            value = fileConfig().getProperty(name);
+        }
+        return value != null ? value : defaultValue;
+    }
 
-        Map<String, String> extractParams(String url) {
-            Map<String, String> params = new HashMap<>();
-            Matcher matcher = this.regex.matcher(url);
-            
-            if (matcher.matches()) {
-                for (int i = 0; i < this.paramNames.size(); i++) {
-                    params.put(this.paramNames.get(i), matcher.group(i + 1));
+    private Properties fileConfig() {
+        if (fileConfig == null) {
+            Properties properties = new Properties();
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            try (InputStream in = classLoader.getResourceAsStream("framework.properties")) {
+                if (in != null) {
+                    properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
                 }
+            } catch (IOException e) {
+                Log.warn("Lecture de framework.properties impossible : {}", e.getMessage());
             }
-            
-            return params;
+            fileConfig = properties;
         }
+        return fileConfig;
     }
 
+    private FormBodyParser formParser =
+            new FormBodyParser(FormBodyParser.DEFAULT_MAX_BODY_SIZE, FormBodyParser.DEFAULT_MAX_FIELDS);
+
+    // Exécuteur des routes @VirtualThread (null si aucune route ne l'utilise)
+    private BlockingExecutor blockingExecutor;
+
+    // Cache des routes @Cacheable (null si aucune route ne l'utilise)
+    private ResponseCache responseCache;
+
+    // ETag calculé sur les réponses JSON, et sur les pages String (framework.etag)
+    private boolean etagJson;
+    private boolean etagText;
+    // Taille maximale d'une réponse JSON mise en tampon pour son ETag
+    private int etagMaxSize = 64 * 1024;
+
+    // Valeurs par défaut des routes, lues dans init()
+    private MethodInvoker.Mode invokerMode = MethodInvoker.Mode.METHOD_HANDLE;
+    private long uploadMemoryThreshold = UploadedFile.DEFAULT_MEMORY_THRESHOLD;
+    private long maxBodySize = FormBodyParser.DEFAULT_MAX_BODY_SIZE;
+    private long asyncTimeout = 30000;
+    private boolean virtualThreads;
+    private boolean compression;
+
+    // Deflater réutilisés des routes compressées (null si aucune route ne compresse)
+    private DeflaterPool deflaterPool;
+    private int compressionMinSize = 1024;
+
+    // Métriques des routes enregistrées, servies sur metricsPath (null : désactivées)
+    private List<RouteMetrics> routeMetrics = new ArrayList<>();
+    private String metricsPath;
+
+    // Route réservée des lots de sous-requêtes @API (null : désactivée)
+    private String batchPath;
+    private int batchMaxRequests = 50;
+
+    // Résultats Stream / Iterator / Iterable : flush tous les N éléments
+    private int streamFlushEvery = 256;
+    // Exécuteur borné des lots ?parallel=true (null : sous-requêtes toujours en séquence)
+    private BlockingExecutor batchExecutor;
+
     @Override
     public void init() throws ServletException {
         super.init();
-        System.out.println("\n=== Initialisation du Framework (Sprint 10) ===");
+        Log.start();
+        Log.setLevel(Log.Level.parse(config("framework.log.level", null), Log.getLevel()));
+        // Taille maximale des corps formulaire et JSON
+        maxBodySize = Long.parseLong(config("framework.body.maxSize", String.valueOf(FormBodyParser.DEFAULT_MAX_BODY_SIZE)));
+        formParser = new FormBodyParser(maxBodySize,
+                Integer.parseInt(config("framework.body.maxFields", String.valueOf(FormBodyParser.DEFAULT_MAX_FIELDS))));
+        Log.info("=== Initialisation du Framework (Sprint 10) ===");
 
-        String basePackage = "com.test.controllers";
+        // ETag calculé sur le corps : "none" (défaut), "json" : réponses JSON, "all" : aussi les
+        // pages String. Les routes @Versioned et @Cacheable ont leur ETag dans tous les cas.
+        String etag = config("framework.etag", "none").trim().toLowerCase();
+        etagJson = etag.equals("json") || etag.equals("all");
+        etagText = etag.equals("all");
+        // Au-delà, la réponse JSON est écrite au fil de l'eau, sans ETag
+        etagMaxSize = Integer.parseInt(config("framework.etag.maxSize", String.valueOf(64 * 1024)));
+        // Packages des contrôleurs, séparés par des virgules (sous-packages compris)
+        List<String> basePackages = new ArrayList<>();
+        for (String name : config("framework.scan.packages", "com.test.controllers").split(",")) {
+            if (!name.isBlank()) {
+                basePackages.add(name.trim());
+            }
+        }
         List<UrlPattern> urlPatterns = new ArrayList<>();
+        Router<UrlPattern> router = new Router<>();
+        // "methodhandle" (défaut) ou "reflection", pour comparer les deux modes
+        invokerMode = MethodInvoker.Mode.parse(config("framework.invoker", null));
+        Log.info("Mode d'invocation : {}", invokerMode);
+        // Taille jusqu'à laquelle un fichier uploadé est lu en mémoire (surchargeable par @Multipart)
+        uploadMemoryThreshold = Long.parseLong(config("framework.upload.memoryThreshold",
+                String.valueOf(UploadedFile.DEFAULT_MEMORY_THRESHOLD)));
+        // Délai des routes asynchrones (retour CompletionStage), surchargeable par @AsyncTimeout
+        asyncTimeout = Long.parseLong(config("framework.async.timeout", "30000"));
+        // true : toutes les routes s'exécutent sur un thread virtuel (sauf @VirtualThread(false))
+        virtualThreads = Boolean.parseBoolean(config("framework.virtualThreads", "false"));
+        // true : toutes les routes sont compressées (sauf @Compress(false)) au-delà de minSize octets
+        compression = Boolean.parseBoolean(config("framework.compression", "false"));
+        compressionMinSize = Integer.parseInt(config("framework.compression.minSize", "1024"));
+        // Compteurs et latences par route, exposés sur /front/_metrics (Prometheus ou ?format=json)
+        boolean metricsEnabled = Boolean.parseBoolean(config("framework.metrics", "true"));
+        metricsPath = metricsEnabled ? config("framework.metrics.path", "/_metrics") : null;
+        // Plusieurs appels @API en une requête : POST d'un tableau JSON sur /front/_batch.
+        // Désactivé par défaut : les sous-requêtes ne passent pas par les filtres (voir writeBatch)
+        boolean batchEnabled = Boolean.parseBoolean(config("framework.batch", "false"));
+        batchPath = batchEnabled ? config("framework.batch.path", "/_batch") : null;
+        batchMaxRequests = Integer.parseInt(config("framework.batch.maxRequests", "50"));
+        int batchThreads = Integer.parseInt(config("framework.batch.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        if (batchPath != null && batchThreads > 1) {
+            batchExecutor = BlockingExecutor.platform(batchThreads);
+        }
+        // Routes @API qui retournent un Stream, un Iterator ou un Iterable : envoi au fil de l'eau
+        streamFlushEvery = Math.max(1, Integer.parseInt(config("framework.stream.flushEvery", "256")));
 
         try {
-            List<Class<?>> classes = getClasses(basePackage);
-            System.out.println("Classes trouvées : " + classes.size());
-            
-            for (Class<?> cls : classes) {
-                System.out.println("Classe analysée : " + cls.getName());
-                
-                if (cls.isAnnotationPresent(Controller.class)) {
-                    System.out.println("  -> @Controller détecté");
-                    Object instance = cls.getDeclaredConstructor().newInstance();
-
-                    for (Method methodObj : cls.getDeclaredMethods()) {
-                        HttpMethod httpMethod = null;
-                        String url = null;
-                        
-                        // Vérifier @GetMapping
-                        if (methodObj.isAnnotationPresent(GetMapping.class)) {
-                            GetMapping annotation = methodObj.getAnnotation(GetMapping.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.GET;
-                        }
-                        // Vérifier @PostMapping
-                        else if (methodObj.isAnnotationPresent(PostMapping.class)) {
-                            PostMapping annotation = methodObj.getAnnotation(PostMapping.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.POST;
-                        }
-                        // Vérifier @PutMapping
-                        else if (methodObj.isAnnotationPresent(PutMapping.class)) {
-                            PutMapping annotation = methodObj.getAnnotation(PutMapping.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.PUT;
-                        }
-                        // Vérifier @DeleteMapping
-                        else if (methodObj.isAnnotationPresent(DeleteMapping.class)) {
-                            DeleteMapping annotation = methodObj.getAnnotation(DeleteMapping.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.DELETE;
-                        }
-                        // Vérifier @RequestMapping (générale)
-                        else if (methodObj.isAnnotationPresent(RequestMapping.class)) {
-                            RequestMapping annotation = methodObj.getAnnotation(RequestMapping.class);
-                            url = annotation.value();
-                            httpMethod = annotation.method();
-                        }
-                        // Sprint 9: Vérifier les nouvelles annotations @Get, @Post, @Put, @Delete
-                        else if (methodObj.isAnnotationPresent(Get.class)) {
-                            Get annotation = methodObj.getAnnotation(Get.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.GET;
-                        }
-                        else if (methodObj.isAnnotationPresent(com.framework.annotations.Post.class)) {
-                            com.framework.annotations.Post annotation = methodObj.getAnnotation(com.framework.annotations.Post.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.POST;
-                        }
-                        else if (methodObj.isAnnotationPresent(com.framework.annotations.Put.class)) {
-                            com.framework.annotations.Put annotation = methodObj.getAnnotation(com.framework.annotations.Put.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.PUT;
-                        }
-                        else if (methodObj.isAnnotationPresent(com.framework.annotations.Delete.class)) {
-                            com.framework.annotations.Delete annotation = methodObj.getAnnotation(com.framework.annotations.Delete.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.DELETE;
-                        }
-                        // Vérifier l'ancienne @Url (compatibilité)
-                        else if (methodObj.isAnnotationPresent(Url.class)) {
-                            Url annotation = methodObj.getAnnotation(Url.class);
-                            url = annotation.value();
-                            httpMethod = HttpMethod.GET; // Par défaut GET
-                        }
-                        
-                        if (url != null) {
-                            if (!url.startsWith("/")) {
-                                url = "/" + url;
-                            }
-                            
-                            UrlPattern urlPattern = new UrlPattern(url, methodObj, instance, httpMethod);
-                            urlPatterns.add(urlPattern);
-
-                            Parameter[] params = methodObj.getParameters();
-                            StringBuilder paramStr = new StringBuilder();
-                            for (Parameter p : params) {
-                                paramStr.append(p.getName()).append(", ");
-                            }
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            // Index généré à la compilation (RouteIndexProcessor) ; à défaut, scan du classpath.
+            // Un index présent (celui d'une bibliothèque, ...) ne couvre pas forcément les
+            // packages configurés : ceux sans aucune entrée sont scannés
+            List<RouteIndex.Entry> index = Boolean.parseBoolean(config("framework.routeIndex", "true"))
+                    ? RouteIndex.load(classLoader) : null;
+            List<String> scanned = basePackages;
+
+            if (index != null) {
+                try {
+                    Set<String> covered = registerIndexed(index, basePackages, classLoader, urlPatterns, router);
+                    scanned = basePackages.stream().filter(name -> !covered.contains(name)).toList();
+                    if (!covered.isEmpty()) {
+                        Log.info("Routes chargées depuis {} : {}", RouteIndex.RESOURCE, covered);
+                    }
+                    if (!scanned.isEmpty()) {
+                        Log.info("Packages absents de {}, scan du classpath : {}", RouteIndex.RESOURCE, scanned);
+                    }
+                } catch (ReflectiveOperationException e) {
+                    Log.warn("Index des routes obsolète ({}), scan du classpath", e.toString());
+                    urlPatterns = new ArrayList<>();
+                    router = new Router<>();
+                    routeMetrics = new ArrayList<>();
+                    scanned = basePackages;
+                }
+            }
+
+            if (!scanned.isEmpty()) {
+                long start = System.nanoTime();
+                int parallelism = Integer.parseInt(config("framework.scan.parallelism",
+                        String.valueOf(Runtime.getRuntime().availableProcessors())));
+                List<Class<?>> classes = new ClassScanner(classLoader, parallelism).scan(scanned, Controller.class);
+                Log.info("Classes trouvées : {} ({} ms)", classes.size(), (System.nanoTime() - start) / 1_000_000);
 
-                            System.out.printf("   ➜ [%s] %-25s → %s.%s(%s)%n",
-                                    httpMethod, url, cls.getSimpleName(), methodObj.getName(), 
-                                    paramStr.length() > 0 ? paramStr.substring(0, paramStr.length() - 2) : "");
+                for (Class<?> cls : classes) {
+                    Log.debug("Classe analysée : {}", cls.getName());
+
+                    if (cls.isAnnotationPresent(Controller.class)) {
+                        Log.debug("  -> @Controller détecté");
+                        Object instance = cls.getDeclaredConstructor().newInstance();
+
+                        for (Method methodObj : cls.getDeclaredMethods()) {
+                            RouteMapping mapping = RouteMapping.of(methodObj::getAnnotation);
+                            if (mapping != null) {
+                                addRoute(urlPatterns, router, instance, methodObj, mapping.getHttpMethod(), mapping.getUrl());
+                            }
                         }
                     }
                 }
             }
 
-            System.out.println("\n=== Patterns enregistrés : " + urlPatterns.size() + " ===\n");
+            Log.info("=== Patterns enregistrés : {} ===", urlPatterns.size());
+
+            if (urlPatterns.stream().anyMatch(p -> p.virtualThread)) {
+                blockingExecutor = BlockingExecutor.virtualOrPlatform(
+                        Integer.parseInt(config("framework.blocking.poolSize", "200")));
+                Log.info("Routes bloquantes exécutées sur des threads {}",
+                        blockingExecutor.isVirtual() ? "virtuels" : "plateforme");
+            }
+
+            if (urlPatterns.stream().anyMatch(p -> p.cacheable != null)) {
+                responseCache = new ResponseCache(
+                        Long.parseLong(config("framework.cache.maxBytes", String.valueOf(64L * 1024 * 1024))),
+                        Integer.parseInt(config("framework.cache.offHeapThreshold", "-1")));
+                getServletContext().setAttribute("RESPONSE_CACHE", responseCache);
+                Log.info("Cache des réponses : {} octets max", responseCache.getMaxBytes());
+            }
+
+            if (urlPatterns.stream().anyMatch(p -> p.compress)) {
+                int level = Integer.parseInt(config("framework.compression.level", "6"));
+                deflaterPool = new DeflaterPool(level, 4 * Runtime.getRuntime().availableProcessors());
+                Log.info("Compression des réponses : niveau {}, à partir de {} octets", level, compressionMinSize);
+            }
 
             getServletContext().setAttribute("URL_PATTERNS", urlPatterns);
+            getServletContext().setAttribute("ROUTER", router);
         } catch (Exception e) {
-            System.err.println("ERREUR lors de l'initialisation :");
-            e.printStackTrace();
+            Log.error("ERREUR lors de l'initialisation :", e);
             throw new ServletException("Erreur d'initialisation du framework", e);
         }
     }
 
-    private List<Class<?>> getClasses(String packageName) throws Exception {
-        List<Class<?>> classes = new ArrayList<>();
-        String path = packageName.replace('.', '/');
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        
-        System.out.println("Recherche dans le package : " + packageName);
-        System.out.println("Chemin de recherche : " + path);
-        
-        Enumeration<URL> resources = classLoader.getResources(path);
-    
-        if (!resources.hasMoreElements()) {
-            System.err.println("⚠️ ATTENTION : Aucune ressource trouvée pour le package " + packageName);
-            System.err.println("   Vérifiez que le JAR contient bien ce package");
-        }
-        
-        while (resources.hasMoreElements()) {
-            URL resource = resources.nextElement();
-            String protocol = resource.getProtocol();
-            
-            System.out.println("Ressource trouvée : " + resource);
-            System.out.println("Protocole : " + protocol);
-    
-            if (protocol.equals("file")) {
-                File directory = new File(resource.getFile());
-                if (directory.exists()) {
-                    File[] files = directory.listFiles();
-                    if (files != null) {
-                        for (File file : files) {
-                            if (file.getName().endsWith(".class")) {
-                                String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
-                                System.out.println("  Chargement : " + className);
-                                classes.add(Class.forName(className));
-                            }
-                        }
-                    }
-                }
-            } else if (protocol.equals("jar")) {
-                String jarPath = resource.getPath();
-                
-                if (jarPath.startsWith("file:")) {
-                    jarPath = jarPath.substring(5);
-                }
-                int separatorIndex = jarPath.indexOf("!");
-                if (separatorIndex != -1) {
-                    jarPath = jarPath.substring(0, separatorIndex);
-                }
-                
-                jarPath = java.net.URLDecoder.decode(jarPath, "UTF-8");
-                
-                System.out.println("Lecture du JAR : " + jarPath);
-                
-                try (JarFile jarFile = new JarFile(jarPath)) {
-                    Enumeration<JarEntry> entries = jarFile.entries();
-                    while (entries.hasMoreElements()) {
-                        JarEntry entry = entries.nextElement();
-                        String entryName = entry.getName();
-                        
-                        if (entryName.startsWith(path) && entryName.endsWith(".class") && !entry.isDirectory()) {
-                            String className = entryName.replace('/', '.').substring(0, entryName.length() - 6);
-                            System.out.println("  Chargement depuis JAR : " + className);
-                            try {
-                                classes.add(Class.forName(className));
-                            } catch (ClassNotFoundException e) {
-                                System.err.println("   Classe non trouvée : " + className);
-                            }
-                        }
-                    }
+    /**
+     * Enregistre les routes de l'index : seules les classes des contrôleurs sont chargées.
+     *
+     * @return Les packages de basePackages qui ont au moins une route dans l'index
+     */
+    private Set<String> registerIndexed(List<RouteIndex.Entry> index, List<String> basePackages,
+                                        ClassLoader classLoader, List<UrlPattern> urlPatterns,
+                                        Router<UrlPattern> router) throws ReflectiveOperationException {
+        Map<String, Object> controllers = new HashMap<>();
+        Set<String> covered = new LinkedHashSet<>();
+        for (RouteIndex.Entry entry : index) {
+            boolean wanted = false;
+            for (String name : basePackages) {
+                if (entry.getClassName().startsWith(name + ".")) {
+                    covered.add(name);
+                    wanted = true;
                 }
             }
+            if (!wanted) {
+                continue;
+            }
+            Object instance = controllers.get(entry.getClassName());
+            if (instance == null) {
+                Class<?> cls = Class.forName(entry.getClassName(), true, classLoader);
+                instance = cls.getDeclaredConstructor().newInstance();
+                controllers.put(entry.getClassName(), instance);
+            }
+            Method method = entry.resolve(instance.getClass());
+            addRoute(urlPatterns, router, instance, method, entry.getHttpMethod(), entry.getUrl());
+        }
+        return covered;
+    }
+
+    private void addRoute(List<UrlPattern> urlPatterns, Router<UrlPattern> router, Object instance,
+                          Method methodObj, HttpMethod httpMethod, String url) {
+        UrlPattern urlPattern = new UrlPattern(url, methodObj, instance, httpMethod,
+                invokerMode, uploadMemoryThreshold, maxBodySize, asyncTimeout, virtualThreads, compression);
+        urlPatterns.add(urlPattern);
+        if (!router.add(httpMethod, url, urlPattern)) {
+            Log.warn("   ⚠️ Route déjà définie, ignorée : [{}] {}", httpMethod, url);
+        } else if (metricsPath != null) {
+            urlPattern.metrics = new RouteMetrics(urlPattern.route);
+            routeMetrics.add(urlPattern.metrics);
+        }
+
+        Parameter[] params = methodObj.getParameters();
+        StringBuilder paramStr = new StringBuilder();
+        for (Parameter p : params) {
+            paramStr.append(p.getName()).append(", ");
         }
-    
-        return classes;
-    }    
+
+        Log.info(String.format("   ➜ [%s] %-25s → %s.%s(%s)",
+                httpMethod, url, instance.getClass().getSimpleName(), methodObj.getName(),
+                paramStr.length() > 0 ? paramStr.substring(0, paramStr.length() - 2) : ""));
+    }
+
+    @Override
+    public void destroy() {
+        if (blockingExecutor != null) {
+            blockingExecutor.shutdown(5000);
+        }
+        if (batchExecutor != null) {
+            batchExecutor.shutdown(5000);
+        }
+        // Derniers messages écrits, puis arrêt du thread de log (il retiendrait le classloader)
+        Log.shutdown(1000);
+        super.destroy();
+    }
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
@@ -286,29 +448,15 @@ public class FrontServlet extends HttpServlet {
         String contentType = request.getContentType();
         
         if (contentType != null && contentType.contains("application/x-www-form-urlencoded")) {
-            BufferedReader reader = request.getReader();
-            StringBuilder body = new StringBuilder();
-            String line;
+            String encoding = request.getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
             
-            while ((line = reader.readLine()) != null) {
-                body.append(line);
-            }
+            FormBodyParser.Form form = formParser.parse(request.getInputStream(), charset);
+            request.setAttribute(FormBodyParser.Form.class.getName(), form);
             
-            String bodyString = body.toString();
-            if (!bodyString.isEmpty()) {
-                String[] pairs = bodyString.split("&");
-                for (String pair : pairs) {
-                    String[] keyValue = pair.split("=");
-                    if (keyValue.length == 2) {
-                        try {
-                            String key = java.net.URLDecoder.decode(keyValue[0], "UTF-8");
-                            String value = java.net.URLDecoder.decode(keyValue[1], "UTF-8");
-                            request.setAttribute(key, value);
-                        } catch (Exception e) {
-                            System.err.println("Erreur lors du parsing du body: " + e.getMessage());
-                        }
-                    }
-                }
+            // Chaque champ est exposé en attribut (première valeur si le nom est répété)
+            for (int i = form.size() - 1; i >= 0; i--) {
+                request.setAttribute(form.getName(i), form.getValue(i));
             }
         }
     }
@@ -316,17 +464,22 @@ public class FrontServlet extends HttpServlet {
     private void processRequest(HttpServletRequest request, HttpServletResponse response, String httpMethod)
             throws ServletException, IOException {
 
-        // On détecte si la méthode cible est une API REST (Sprint 9)
-        boolean isApiRest = false;
         response.setContentType("text/html;charset=UTF-8");
         
         // Pour PUT, DELETE et POST, lire le body et parser les paramètres
         if ("PUT".equals(httpMethod) || "DELETE".equals(httpMethod) || "POST".equals(httpMethod)) {
-            parseRequestBody(request);
+            try {
+                parseRequestBody(request);
+            } catch (HttpStatusException e) {
+                sendError(response, e);
+                return;
+            }
         }
 
         @SuppressWarnings("unchecked")
         List<UrlPattern> urlPatterns = (List<UrlPattern>) getServletContext().getAttribute("URL_PATTERNS");
+        @SuppressWarnings("unchecked")
+        Router<UrlPattern> router = (Router<UrlPattern>) getServletContext().getAttribute("ROUTER");
 
         String fullPath = request.getRequestURI();
         String contextPath = request.getContextPath();
@@ -340,238 +493,67 @@ public class FrontServlet extends HttpServlet {
             path = "/" + path;
         }
         
-        PrintWriter out = response.getWriter();
-        
-        System.out.println("\n=== Requête reçue ===");
-        System.out.println("Méthode HTTP : " + httpMethod);
-        System.out.println("URI complète : " + fullPath);
-        System.out.println("Context path : " + contextPath);
-        System.out.println("Path extrait : " + path);
+        Log.debug("=== Requête reçue : {} {} (path extrait : {}) ===", httpMethod, fullPath, path);
 
-        UrlPattern matchedPattern = null;
-        Map<String, String> pathParams = new HashMap<>();
-        
-        if (urlPatterns != null) {
-            for (UrlPattern pattern : urlPatterns) {
-                if (pattern.matches(path, httpMethod)) {
-                    matchedPattern = pattern;
-                    pathParams = pattern.extractParams(path);
-                    break;
-                }
-            }
+        if (metricsPath != null && "GET".equals(httpMethod) && path.equals(metricsPath)) {
+            writeMetrics(request, response);
+            return;
         }
 
-        if (matchedPattern != null) {
-            // Sprint 9 : détection API REST
-            boolean hasApi = matchedPattern.method.isAnnotationPresent(API.class);
-            boolean hasGet = matchedPattern.method.isAnnotationPresent(Get.class);
-            boolean hasJson = matchedPattern.method.isAnnotationPresent(Json.class);
-            isApiRest = hasApi || hasGet || hasJson;
-            System.out.println("✓ Pattern trouvé : " + matchedPattern.pattern + " [" + matchedPattern.httpMethod + "]");
-            System.out.println("  Paramètres extraits du path : " + pathParams);
+        if (batchPath != null && "POST".equals(httpMethod) && path.equals(batchPath) && router != null) {
+            writeBatch(request, response, router);
+            return;
+        }
 
-            try {
-                for (Map.Entry<String, String> entry : pathParams.entrySet()) {
-                    request.setAttribute(entry.getKey(), entry.getValue());
-                }
-
-                Parameter[] methodParams = matchedPattern.method.getParameters();
-                Object[] args = new Object[methodParams.length];
-                
-                System.out.println("  Paramètres de la méthode : " + methodParams.length);
-                
-                for (int i = 0; i < methodParams.length; i++) {
-                    Parameter param = methodParams[i];
-                    String paramName = param.getName();
-                    String paramValue = null;
-                    boolean bound = false;
-                    
-                    RequestParam requestParamAnnotation = param.getAnnotation(RequestParam.class);
-                    if (requestParamAnnotation != null) {
-                        paramName = requestParamAnnotation.value();
-                        System.out.println("    - @RequestParam détecté: " + paramName);
-                    }
-                    
-                    // ORDRE DE PRIORITÉ
-                    // 1. URL path parameters
-                    if (pathParams.containsKey(paramName)) {
-                        paramValue = pathParams.get(paramName);
-                        System.out.println("    - " + paramName + " trouvé dans l'URL (priorité 1)");
-                    } 
-                    // 2. Request parameters (GET/POST query string)
-                    else if (request.getParameter(paramName) != null) {
-                        paramValue = request.getParameter(paramName);
-                        System.out.println("    - " + paramName + " trouvé dans les paramètres (priorité 2)");
-                    }
-                    // 3. Request body (PUT/DELETE/POST body)
-                    else {
-                        Object bodyParam = request.getAttribute(paramName);
-                        if (bodyParam != null) {
-                            paramValue = bodyParam.toString();
-                            System.out.println("    - " + paramName + " trouvé dans le body (priorité 3)");
-                        }
-                    }
-                    
-                    System.out.println("    - " + paramName + " (type: " + param.getType().getSimpleName() + ") = " + paramValue);
+        UrlPattern matchedPattern = null;
+        String[] pathValues = null;
 
-                    // Multipart/file binding support (Sprint 10)
-                    String contentType = request.getContentType();
-                    boolean isMultipart = contentType != null && contentType.toLowerCase().contains("multipart/form-data");
+        if (router != null) {
+            Router.Match<UrlPattern> match = router.match(HttpMethod.valueOf(httpMethod), path);
+            if (match != null) {
+                matchedPattern = match.getHandler();
+                pathValues = match.getValues();
+            }
+        }
 
-                    try {
-                        if (isMultipart) {
-                            Class<?> pType = param.getType();
-                            // Single UploadedFile
-                            if (pType.getSimpleName().equals("UploadedFile") || pType == UploadedFile.class) {
-                                try {
-                                    Part part = request.getPart(paramName);
-                                    if (part != null && part.getSubmittedFileName() != null) {
-                                        byte[] data = UploadedFile.readAllBytes(part.getInputStream());
-                                        UploadedFile uf = new UploadedFile(paramName, part.getSubmittedFileName(), part.getContentType(), data);
-                                        args[i] = uf;
-                                    } else {
-                                        args[i] = null;
-                                    }
-                                    bound = true;
-                                } catch (Exception e) {
-                                    System.err.println("    Erreur binding UploadedFile: " + e.getMessage());
-                                    args[i] = null;
-                                    bound = true;
-                                }
-                            }
-                            // Array of UploadedFile
-                            else if (pType.isArray() && pType.getComponentType() == UploadedFile.class) {
-                                try {
-                                    Collection<Part> parts = request.getParts();
-                                    List<UploadedFile> collected = new ArrayList<>();
-                                    for (Part part : parts) {
-                                        if (part.getName().equals(paramName) && part.getSubmittedFileName() != null) {
-                                            byte[] data = UploadedFile.readAllBytes(part.getInputStream());
-                                            collected.add(new UploadedFile(paramName, part.getSubmittedFileName(), part.getContentType(), data));
-                                        }
-                                    }
-                                    UploadedFile[] arr = collected.toArray(new UploadedFile[0]);
-                                    args[i] = arr;
-                                } catch (Exception e) {
-                                    System.err.println("    Erreur binding UploadedFile[]: " + e.getMessage());
-                                    args[i] = null;
-                                }
-                                bound = true;
-                            }
-                            // Map binding: Map<String, UploadedFile> -> we will create Map of fieldName -> UploadedFile
-                            else if (Map.class.isAssignableFrom(pType)) {
-                                try {
-                                    Collection<Part> parts = request.getParts();
-                                    Map<String, UploadedFile> map = new LinkedHashMap<>();
-                                    for (Part part : parts) {
-                                        if (part.getSubmittedFileName() != null) {
-                                            byte[] data = UploadedFile.readAllBytes(part.getInputStream());
-                                            map.put(part.getName(), new UploadedFile(part.getName(), part.getSubmittedFileName(), part.getContentType(), data));
-                                        }
-                                    }
-                                    args[i] = map;
-                                } catch (Exception e) {
-                                    System.err.println("    Erreur binding Map<String,UploadedFile>: " + e.getMessage());
-                                    args[i] = null;
-                                }
-                                bound = true;
-                            }
-                        }
+        if (matchedPattern != null) {
+            Log.debug("✓ Pattern trouvé : {} [{}], paramètres du path : {}",
+                    matchedPattern.pattern, matchedPattern.httpMethod, pathValues);
 
-                        if (!bound) {
-                            if (paramValue != null) {
-                                if (param.getType() == int.class || param.getType() == Integer.class) {
-                                    args[i] = Integer.parseInt(paramValue);
-                                } else if (param.getType() == double.class || param.getType() == Double.class) {
-                                    args[i] = Double.parseDouble(paramValue);
-                                } else if (param.getType() == boolean.class || param.getType() == Boolean.class) {
-                                    args[i] = Boolean.parseBoolean(paramValue);
-                                } else {
-                                    args[i] = paramValue;
-                                }
-                            } else {
-                                args[i] = null;
-                            }
-                        }
-                    } catch (NumberFormatException e) {
-                        System.err.println("     Erreur de conversion pour " + paramName + ": " + e.getMessage());
-                        args[i] = null;
-                    }
+            CompressionResponse compressed = null;
+            if (matchedPattern.compress && deflaterPool != null) {
+                response.addHeader("Vary", "Accept-Encoding");
+                CompressionResponse.Encoding encoding =
+                        CompressionResponse.Encoding.negotiate(request.getHeader("Accept-Encoding"));
+                if (encoding != null) {
+                    compressed = new CompressionResponse(response, encoding, deflaterPool, compressionMinSize);
                 }
+            }
 
-                Object result = matchedPattern.method.invoke(matchedPattern.controller, args);
-
-                if (isApiRest) {
-                    response.setContentType("application/json;charset=UTF-8");
-                    String json;
-                    if (result != null) {
-                        if (result instanceof List<?>) {
-                            json = toJson(ApiResponse.success(result));
-                        } else {
-                            json = toJson(ApiResponse.success(result));
-                        }
+            RouteMetrics metrics = matchedPattern.metrics;
+            long start = metrics != null ? metrics.begin() : 0;
+            boolean completed = false;
+            try {
+                dispatch(request, compressed != null ? compressed : response, matchedPattern, pathValues);
+                completed = true;
+            } finally {
+                // En mode async, la réponse est terminée (et mesurée) par le thread qui la complète
+                boolean async = request.isAsyncStarted();
+                if (compressed != null && !async) {
+                    compressed.finish();
+                }
+                if (metrics != null) {
+                    if (async) {
+                        // complete() appelé avant le retour de ce dispatch est différé : rien n'est perdu
+                        request.getAsyncContext().addListener(metrics.asyncRecorder(start, response));
                     } else {
-                        json = toJson(ApiResponse.error(404, "Aucune donnée trouvée"));
-                    }
-                    out.print(json);
-                } else if (result instanceof String str) {
-                    out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
-                    out.println("<h3>Résultat :</h3><pre>" + str + "</pre>");
-                    out.println("</body></html>");
-                } else if (result instanceof ModelView mv) {
-                    for (Map.Entry<String, Object> entry : mv.getAttributes().entrySet()) {
-                        request.setAttribute(entry.getKey(), entry.getValue());
-                    }
-                    String viewPath = mv.getView();
-                    if (!viewPath.endsWith(".jsp")) {
-                        viewPath += ".jsp";
+                        metrics.end(start, completed ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                     }
-                    if (!viewPath.startsWith("/")) {
-                        viewPath = "/" + viewPath;
-                    }
-                    System.out.println("Forward vers la vue : " + viewPath);
-                    RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
-                    dispatcher.forward(request, response);
-                } else {
-                    out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
-                    out.println("<p>Méthode exécutée avec succès (retour : " + (result != null ? result.getClass().getSimpleName() : "null") + ")</p>");
-                    out.println("</body></html>");
-                }
-
-            } catch (InvocationTargetException e) {
-                System.err.println(" Erreur lors de l'invocation de la méthode :");
-                e.getCause().printStackTrace();
-                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
-                out.println("<h2>500 - Erreur lors de l'exécution</h2>");
-                out.println("<p><strong>Cause:</strong> " + e.getCause().getMessage() + "</p>");
-                out.println("<pre>");
-                e.getCause().printStackTrace(out);
-                out.println("</pre></body></html>");
-            } catch (IllegalArgumentException e) {
-                System.err.println(" Erreur IllegalArgumentException - Vérifiez les paramètres :");
-                System.err.println("   Message: " + e.getMessage());
-                e.printStackTrace();
-                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
-                out.println("<h2>500 - Erreur de paramètres</h2>");
-                out.println("<p>Les paramètres ne correspondent pas aux arguments de la méthode.</p>");
-                out.println("<p><strong>Message:</strong> " + e.getMessage() + "</p>");
-                out.println("<pre>");
-                e.printStackTrace(out);
-                out.println("</pre></body></html>");
-            } catch (Exception e) {
-                System.err.println(" Erreur inattendue :");
-                e.printStackTrace();
-                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
-                out.println("<h2>500 - Erreur interne</h2>");
-                out.println("<pre>");
-                e.printStackTrace(out);
-                out.println("</pre></body></html>");
+                }
             }
         } else {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            PrintWriter out = writer(response);
             out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
             out.println("<h2>404 - URL non trouvée</h2>");
             out.println("<p>Path demandé : <strong>" + path + "</strong></p>");
@@ -583,85 +565,785 @@ public class FrontServlet extends HttpServlet {
                 }
             }
             out.println("</ul></body></html>");
-            System.err.println("✗ Aucun pattern pour : " + httpMethod + " " + path);
-        }
-    }
-
-    // Utilitaire simple pour convertir en JSON (remplacer par Gson/Jackson si besoin)
-    private String toJson(Map<String, Object> map) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        int i = 0;
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            sb.append("\"").append(entry.getKey()).append("\":");
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                sb.append("\"").append(escapeJson((String) value)).append("\"");
-            } else if (value instanceof Number || value instanceof Boolean) {
-                sb.append(value);
-            } else if (value instanceof List<?>) {
-                sb.append("[");
-                List<?> list = (List<?>) value;
-                for (int j = 0; j < list.size(); j++) {
-                    sb.append(toJsonObject(list.get(j)));
-                    if (j < list.size() - 1) sb.append(",");
-                }
-                sb.append("]");
-            } else if (value instanceof Map<?, ?>) {
-                sb.append(toJson((Map<String, Object>) value));
+            Log.debug("✗ Aucun pattern pour : {} {}", httpMethod, path);
+        }
+    }
+
+    /**
+     * Écrit une réponse déjà sérialisée : mise en cache (@Cacheable), puis 304 si le
+     * client a déjà cette version (If-None-Match), sinon le corps.
+     *
+     * @param cacheKey La clé de cache, ou null
+     * @param etag L'ETag de la réponse, ou null
+     */
+    private void writeBuffered(HttpServletRequest request, HttpServletResponse response, UrlPattern pattern,
+                               String cacheKey, byte[] body, String etag) throws IOException {
+        if (cacheKey != null) {
+            responseCache.put(cacheKey, pattern.route, response.getContentType(), etag, body, pattern.cacheable.ttl());
+        }
+        if (etag != null) {
+            if (ETags.matches(request.getHeader("If-None-Match"), etag)) {
+                notModified(response, etag);
+                return;
+            }
+            response.setHeader("ETag", etag);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void notModified(HttpServletResponse response, String etag) {
+        Log.debug("304 Not Modified ({})", etag);
+        response.setHeader("ETag", etag);
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    /**
+     * Lie les arguments, appelle le contrôleur et écrit la réponse.
+     *
+     * Sans contexte async, un CompletionStage est confié à {@link #dispatchAsync} ; sur un
+     * thread de l'exécuteur (ou sans support async), on attend simplement le résultat.
+     *
+     * @param async Le contexte asynchrone si la route s'exécute hors du thread du conteneur
+     * @param answered Partagé avec le listener de timeout : seul le premier arrivé répond
+     * @return true si ce thread a écrit la réponse et doit compléter le contexte async ;
+     *         false si la requête a été redirigée vers une vue, confiée à dispatchAsync,
+     *         ou si le timeout a déjà répondu (et complété). Une exception ne sort d'ici
+     *         qu'en écrivant la page d'erreur, donc une fois la réponse obtenue.
+     */
+    private boolean handle(HttpServletRequest request, HttpServletResponse response, UrlPattern pattern,
+                           String[] pathValues, AsyncContext async, AsyncAnswer answered)
+            throws ServletException, IOException {
+        boolean claimed = answered == null;
+        boolean handedOff = false;
+        try {
+            for (int p = 0; p < pathValues.length; p++) {
+                request.setAttribute(pattern.paramNames.get(p), pathValues[p]);
+            }
+
+            // @Versioned : la version suffit pour répondre 304, sans lier ni appeler la route
+            if (pattern.versionInvoker != null && "GET".equals(request.getMethod())) {
+                Object version = pattern.versionInvoker.invoke(pattern.versionPlan.bind(request, pathValues));
+                if (version != null) {
+                    String etag = ETags.ofVersion(version);
+                    if (ETags.matches(request.getHeader("If-None-Match"), etag)) {
+                        if (!claimed && !(claimed = answered.compareAndSet(false, true))) {
+                            return false;
+                        }
+                        notModified(response, etag);
+                        return true;
+                    }
+                    request.setAttribute(ETags.VERSION_ATTRIBUTE, etag);
+                }
+            }
+
+            Object[] args = pattern.bindingPlan.bind(request, pathValues);
+
+            Object result = pattern.invoker.invoke(args);
+
+            if (result instanceof CompletionStage<?> stage) {
+                if (async == null && request.isAsyncSupported()) {
+                    dispatchAsync(request, response, pattern, stage);
+                    handedOff = true;
+                    return false;
+                }
+                Log.debug("Attente du résultat async de {}", pattern.pattern);
+                result = stage.toCompletableFuture().get(pattern.asyncTimeout, TimeUnit.MILLISECONDS);
+            }
+
+            if (!claimed && !(claimed = answered.compareAndSet(false, true))) {
+                // Le timeout a déjà répondu
+                close(result);
+                return false;
+            }
+            return !render(request, response, pattern, result, async);
+
+        } catch (Exception e) {
+            if (claimed || answered.compareAndSet(false, true)) {
+                fail(response, pattern, e);
+                return true;
+            }
+            return false;
+        } finally {
+            // Sur le thread du conteneur, la place @Bulkhead est rendue ici (sauf CompletionStage)
+            if (async == null && !handedOff && pattern.bulkhead != null) {
+                pattern.bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Page d'erreur correspondant à une exception levée pendant le traitement d'une route.
+     */
+    private void fail(HttpServletResponse response, UrlPattern pattern, Exception e) throws IOException {
+        if (e instanceof HttpStatusException status) {
+            sendError(response, status);
+        } else if (e instanceof InvocationTargetException) {
+            sendServerError(response, e.getCause());
+        } else if (e instanceof ExecutionException) {
+            sendServerError(response, unwrap(e));
+        } else if (e instanceof TimeoutException) {
+            sendError(response, new HttpStatusException(503, "Délai dépassé (" + pattern.asyncTimeout + " ms)"));
+        } else if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            sendServerError(response, e);
+        } else if (e instanceof IllegalArgumentException) {
+            Log.error(" Erreur IllegalArgumentException - Vérifiez les paramètres : {}", e.getMessage(), e);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            PrintWriter out = writer(response);
+            out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
+            out.println("<h2>500 - Erreur de paramètres</h2>");
+            out.println("<p>Les paramètres ne correspondent pas aux arguments de la méthode.</p>");
+            out.println("<p><strong>Message:</strong> " + e.getMessage() + "</p>");
+            out.println("<pre>");
+            e.printStackTrace(out);
+            out.println("</pre></body></html>");
+        } else {
+            Log.error(" Erreur inattendue :", e);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            PrintWriter out = writer(response);
+            out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
+            out.println("<h2>500 - Erreur interne</h2>");
+            out.println("<pre>");
+            e.printStackTrace(out);
+            out.println("</pre></body></html>");
+        }
+    }
+
+    /**
+     * Route réservée des métriques : format Prometheus par défaut, JSON avec ?format=json
+     * ou Accept: application/json.
+     */
+    private void writeMetrics(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String accept = request.getHeader("Accept");
+        if ("json".equals(request.getParameter("format")) || (accept != null && accept.contains("application/json"))) {
+            response.setContentType("application/json;charset=UTF-8");
+            MetricsEndpoint.writeJson(routeMetrics, responseCache, response.getOutputStream());
+        } else {
+            response.setContentType("text/plain;version=0.0.4;charset=UTF-8");
+            PrintWriter out = writer(response);
+            MetricsEndpoint.writePrometheus(routeMetrics, responseCache, out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Route réservée des lots (framework.batch=true) : chaque sous-requête est résolue par le
+     * routeur et son contrôleur appelé directement, sans nouvel aller-retour HTTP ni forward.
+     * La réponse est un tableau JSON des enveloppes ApiResponse, dans l'ordre du lot.
+     *
+     * Les sous-requêtes ne traversent pas la chaîne de filtres : seuls les filtres mappés
+     * sur le chemin du lot lui-même s'appliquent. Un filtre d'authentification ou d'audit
+     * mappé sur le chemin d'une route (/front/admin/*, ...) est contourné ; n'activer les
+     * lots que si le contrôle d'accès ne repose pas sur de tels filtres.
+     *
+     * Avec ?parallel=true, les sous-requêtes (indépendantes) s'exécutent sur l'exécuteur
+     * borné framework.batch.threads ; les enveloppes sont écrites dès que possible, dans l'ordre.
+     * Elles lisent alors une copie de la requête du lot (en-têtes, cookies, identité), prise
+     * avant la remise à l'exécuteur ; la session n'y est pas accessible.
+     * Seules les routes JSON sont acceptées. @RateLimit, @Bulkhead et les métriques
+     * s'appliquent à chaque sous-requête ; le cache (@Cacheable) et les ETag ne s'appliquent pas.
+     */
+    private void writeBatch(HttpServletRequest request, HttpServletResponse response, Router<UrlPattern> router)
+            throws IOException {
+        List<BatchRequest> entries;
+        try {
+            entries = BatchRequest.parse(request.getInputStream(), maxBodySize, batchMaxRequests);
+        } catch (HttpStatusException e) {
+            sendError(response, e);
+            return;
+        }
+        Log.debug("Lot de {} sous-requête(s)", entries.size());
+
+        List<CompletableFuture<Map<String, Object>>> pending = null;
+        if (batchExecutor != null && entries.size() > 1 && Boolean.parseBoolean(request.getParameter("parallel"))) {
+            pending = new ArrayList<>(entries.size());
+            // La requête du conteneur n'est pas thread-safe : copie lue par les sous-requêtes
+            BatchRequest.Snapshot snapshot = BatchRequest.Snapshot.of(request);
+            for (BatchRequest entry : entries) {
+                CompletableFuture<Map<String, Object>> future;
+                try {
+                    future = CompletableFuture.supplyAsync(
+                            () -> invokeBatched(request, router, entry, snapshot), batchExecutor);
+                } catch (RejectedExecutionException e) {
+                    // Servlet en cours d'arrêt : la sous-requête s'exécute ici
+                    future = CompletableFuture.completedFuture(invokeBatched(request, router, entry, snapshot));
+                }
+                pending.add(future);
+            }
+        }
+
+        response.setContentType("application/json;charset=UTF-8");
+        try (JsonWriter json = new JsonWriter(response.getOutputStream())) {
+            json.beginArray();
+            for (int i = 0; i < entries.size(); i++) {
+                json.writeValue(pending != null ? pending.get(i).join() : invokeBatched(request, router, entries.get(i), null));
+            }
+            json.endArray();
+        }
+    }
+
+    /**
+     * Exécute une sous-requête d'un lot.
+     *
+     * @param snapshot Copie de la requête du lot si la sous-requête s'exécute hors du thread
+     *                 du conteneur, sinon null
+     * @return L'enveloppe ApiResponse de la sous-requête (succès ou erreur, jamais d'exception)
+     */
+    private Map<String, Object> invokeBatched(HttpServletRequest request, Router<UrlPattern> router,
+                                              BatchRequest entry, BatchRequest.Snapshot snapshot) {
+        if (entry.getHttpMethod() == null) {
+            return ApiResponse.error(405, "Méthode inconnue : " + entry.getMethod());
+        }
+        Router.Match<UrlPattern> match = router.match(entry.getHttpMethod(), entry.getPath());
+        if (match == null) {
+            return ApiResponse.error(404, "URL non trouvée : " + entry.getHttpMethod() + " " + entry.getPath());
+        }
+        UrlPattern pattern = match.getHandler();
+        if (!pattern.apiRest) {
+            return ApiResponse.error(400, "Route non JSON, hors lot : " + pattern.route);
+        }
+        if (pattern.rateLimit != null && pattern.rateLimit.tryAcquire() > 0) {
+            return ApiResponse.error(429, "Trop de requêtes");
+        }
+        ConcurrencyLimiter bulkhead = pattern.bulkhead;
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            return ApiResponse.error(503, "Route saturée (" + bulkhead.getMaxConcurrent() + " exécutions en cours)");
+        }
+
+        RouteMetrics metrics = pattern.metrics;
+        long start = metrics != null ? metrics.begin() : 0;
+        int status = HttpServletResponse.SC_OK;
+        try {
+            HttpServletRequest sub = snapshot != null ? entry.wrap(request, snapshot) : entry.wrap(request);
+            String[] pathValues = match.getValues();
+            for (int p = 0; p < pathValues.length; p++) {
+                sub.setAttribute(pattern.paramNames.get(p), pathValues[p]);
+            }
+            Object result = pattern.invoker.invoke(pattern.bindingPlan.bind(sub, pathValues));
+            if (result instanceof CompletionStage<?> stage) {
+                result = stage.toCompletableFuture().get(pattern.asyncTimeout, TimeUnit.MILLISECONDS);
+            }
+            return result != null ? ApiResponse.success(result) : ApiResponse.error(404, "Aucune donnée trouvée");
+        } catch (Exception e) {
+            Map<String, Object> error = batchError(pattern, e);
+            status = (Integer) error.get("code");
+            return error;
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            if (metrics != null) {
+                metrics.end(start, status);
+            }
+        }
+    }
+
+    /**
+     * Enveloppe d'erreur d'une sous-requête : pendant de {@link #fail} pour les lots.
+     */
+    private static Map<String, Object> batchError(UrlPattern pattern, Exception e) {
+        if (e instanceof TimeoutException) {
+            return ApiResponse.error(503, "Délai dépassé (" + pattern.asyncTimeout + " ms)");
+        }
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable cause = e instanceof InvocationTargetException ? e.getCause() : unwrap(e);
+        if (cause instanceof HttpStatusException status) {
+            return ApiResponse.error(status.getStatus(), status.getMessage());
+        }
+        Log.error(" Erreur dans le lot sur " + pattern.route + " :", cause);
+        return ApiResponse.error(500, cause.getMessage() != null ? cause.getMessage() : cause.toString());
+    }
+
+    /**
+     * Sert une route trouvée : depuis le cache (@Cacheable), sur l'exécuteur bloquant
+     * (@VirtualThread) ou directement sur le thread du conteneur.
+     *
+     * @RateLimit est vérifié avant tout (429), @Bulkhead avant d'appeler le contrôleur (503).
+     */
+    private void dispatch(HttpServletRequest request, HttpServletResponse response, UrlPattern matchedPattern,
+                          String[] pathValues) throws ServletException, IOException {
+        if (matchedPattern.rateLimit != null) {
+            long wait = matchedPattern.rateLimit.tryAcquire();
+            if (wait > 0) {
+                reject(response, 429, "Trop de requêtes", (wait + 999_999_999L) / 1_000_000_000L);
+                return;
+            }
+        }
+
+        if (matchedPattern.cacheable != null && responseCache != null) {
+            // La clé ne dépend que du path et des paramètres bruts : un hit n'appelle rien
+            String key = ResponseCache.key(matchedPattern.route, pathValues, request, matchedPattern.cacheable.key());
+            ResponseCache.Entry cached = responseCache.get(key);
+            if (cached != null) {
+                response.setHeader("X-Cache", "HIT");
+                if (cached.getETag() != null && ETags.matches(request.getHeader("If-None-Match"), cached.getETag())) {
+                    notModified(response, cached.getETag());
+                    return;
+                }
+                if (cached.getETag() != null) {
+                    response.setHeader("ETag", cached.getETag());
+                }
+                response.setContentType(cached.getContentType());
+                response.setContentLength(cached.size());
+                cached.writeTo(response.getOutputStream());
+                return;
+            }
+            response.setHeader("X-Cache", "MISS");
+            request.setAttribute(ResponseCache.KEY_ATTRIBUTE, key);
+        }
+
+        ConcurrencyLimiter bulkhead = matchedPattern.bulkhead;
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            reject(response, 503, "Route saturée (" + bulkhead.getMaxConcurrent() + " exécutions en cours)",
+                    matchedPattern.bulkheadRetryAfter);
+            return;
+        }
+        // La place est rendue à la fin du travail : par handle(), par la tâche de dispatchBlocking
+        // ou à la complétion du CompletionStage (dispatchAsync)
+        if (matchedPattern.virtualThread && blockingExecutor != null && request.isAsyncSupported()) {
+            dispatchBlocking(request, response, matchedPattern, pathValues);
+        } else {
+            handle(request, response, matchedPattern, pathValues, null, null);
+        }
+    }
+
+    /**
+     * Refus immédiat d'une requête au-delà des limites de la route.
+     *
+     * @param retryAfter Délai conseillé avant de réessayer, en secondes (Retry-After)
+     */
+    private void reject(HttpServletResponse response, int status, String message, long retryAfter)
+            throws IOException {
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, retryAfter)));
+        sendError(response, new HttpStatusException(status, message));
+    }
+
+    /**
+     * Écrit la réponse d'une route : JSON (Sprint 9), String, ModelView (forward JSP) ou page par défaut.
+     *
+     * @param async Le contexte asynchrone si la réponse est produite hors du thread du conteneur
+     * @return true si la requête a été redirigée vers une vue (le contexte async ne doit pas être complété)
+     */
+    private boolean render(HttpServletRequest request, HttpServletResponse response, UrlPattern pattern,
+                           Object result, AsyncContext async) throws ServletException, IOException {
+        // Clé posée par processRequest si la réponse doit être mise en cache (@Cacheable)
+        String cacheKey = pattern.cacheable != null ? (String) request.getAttribute(ResponseCache.KEY_ATTRIBUTE) : null;
+        // ETag conditionnel : GET uniquement ; celui de @Versioned est déjà calculé
+        boolean conditional = result != null && "GET".equals(request.getMethod());
+        String etag = conditional ? (String) request.getAttribute(ETags.VERSION_ATTRIBUTE) : null;
+
+        if (pattern.apiRest && isStreamed(result)) {
+            writeStreamed(request, response, result, etag);
+        } else if (pattern.apiRest) {
+            response.setContentType("application/json;charset=UTF-8");
+            Map<String, Object> body = result != null
+                    ? ApiResponse.success(result)
+                    : ApiResponse.error(404, "Aucune donnée trouvée");
+            boolean hash = conditional && etagJson && etag == null;
+            if (result != null && cacheKey != null) {
+                // Hash calculé pendant la sérialisation, sans relire le corps
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                ETags.HashingOutputStream hashing = new ETags.HashingOutputStream(buffer);
+                try (JsonWriter json = new JsonWriter(hashing)) {
+                    json.writeValue(body);
+                }
+                // Réponse @Cacheable : ETag stocké avec l'entrée, quel que soit framework.etag
+                if (etag == null) {
+                    etag = hashing.getETag();
+                }
+                writeBuffered(request, response, pattern, cacheKey, buffer.toByteArray(), etag);
+            } else if (result != null && hash) {
+                // Tampon borné à etagMaxSize : au-delà, le corps part au fil de l'eau, sans ETag
+                OutputStream out = response.getOutputStream();
+                ETags.BoundedBuffer buffer = new ETags.BoundedBuffer(out, etagMaxSize);
+                ETags.HashingOutputStream hashing = new ETags.HashingOutputStream(buffer);
+                try (JsonWriter json = new JsonWriter(hashing)) {
+                    json.writeValue(body);
+                }
+                if (!buffer.isOverflowed()) {
+                    etag = hashing.getETag();
+                    if (ETags.matches(request.getHeader("If-None-Match"), etag)) {
+                        notModified(response, etag);
+                    } else {
+                        response.setHeader("ETag", etag);
+                        response.setContentLength(buffer.size());
+                        buffer.writeTo(out);
+                    }
+                }
+            } else {
+                if (etag != null) {
+                    response.setHeader("ETag", etag);
+                }
+                try (JsonWriter json = new JsonWriter(response.getOutputStream())) {
+                    json.writeValue(body);
+                }
+            }
+        } else if (result instanceof String str) {
+            String page = "<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>\n"
+                    + "<h3>Résultat :</h3><pre>" + str + "</pre>\n"
+                    + "</body></html>\n";
+            boolean hash = conditional && etagText && etag == null;
+            if (cacheKey != null || hash || etag != null) {
+                byte[] bytes = page.getBytes(StandardCharsets.UTF_8);
+                if (hash || (cacheKey != null && etag == null)) {
+                    etag = ETags.of(bytes);
+                }
+                writeBuffered(request, response, pattern, cacheKey, bytes, etag);
             } else {
-                sb.append(toJsonObject(value));
-            }
-            if (i < map.size() - 1) sb.append(",");
-            i++;
-        }
-        sb.append("}");
-        return sb.toString();
-    }
-
-    private String toJsonObject(Object obj) {
-        if (obj == null) return "null";
-        if (obj instanceof String) return "\"" + escapeJson((String) obj) + "\"";
-        if (obj instanceof Number || obj instanceof Boolean) return obj.toString();
-        if (obj instanceof Map<?, ?>) return toJson((Map<String, Object>) obj);
-        // Pour les objets simples, on sérialise les champs publics
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        Field[] fields = obj.getClass().getDeclaredFields();
-        int i = 0;
-        for (Field f : fields) {
-            f.setAccessible(true);
+                writer(response).print(page);
+            }
+        } else if (result instanceof ModelView mv) {
+            for (Map.Entry<String, Object> entry : mv.getAttributes().entrySet()) {
+                request.setAttribute(entry.getKey(), entry.getValue());
+            }
+            String viewPath = mv.getView();
+            if (!viewPath.endsWith(".jsp")) {
+                viewPath += ".jsp";
+            }
+            if (!viewPath.startsWith("/")) {
+                viewPath = "/" + viewPath;
+            }
+            Log.debug("Forward vers la vue : {}", viewPath);
+            if (async != null) {
+                // La fin de l'écriture de la JSP n'est pas observable : pas de compression
+                if (response instanceof CompressionResponse compressed) {
+                    compressed.disable();
+                }
+                async.dispatch(viewPath);
+                return true;
+            }
+            RequestDispatcher dispatcher = request.getRequestDispatcher(viewPath);
+            dispatcher.forward(request, response);
+        } else {
+            PrintWriter out = writer(response);
+            out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
+            out.println("<p>Méthode exécutée avec succès (retour : " + (result != null ? result.getClass().getSimpleName() : "null") + ")</p>");
+            out.println("</body></html>");
+            close(result);
+        }
+        return false;
+    }
+
+    /**
+     * @return true si le résultat est produit au fil de l'eau : Stream, Iterator, ou Iterable
+     *         qui n'est pas une Collection (déjà en mémoire, elle garde le rendu habituel)
+     */
+    private static boolean isStreamed(Object result) {
+        return result instanceof BaseStream<?, ?> || result instanceof Iterator<?>
+                || (result instanceof Iterable<?> && !(result instanceof Collection<?>));
+    }
+
+    /**
+     * Résultat Stream, Iterator ou Iterable d'une route JSON : les éléments sont sérialisés un
+     * à un vers la réponse, qui n'est jamais mise en tampon (ni cache, ni ETag calculé).
+     * La mémoire utilisée ne dépend pas du nombre d'éléments.
+     *
+     * - par défaut, enveloppe ApiResponse : {"data":[...],"count":N,"status":"success","code":200}
+     * - avec Accept: application/x-ndjson, un élément JSON par ligne, sans enveloppe
+     *
+     * La réponse est vidée tous les framework.stream.flushEvery éléments. Une erreur de la
+     * source en cours de route termine proprement le JSON (status "error", code 500) : le
+     * statut HTTP est déjà parti. Le Stream (ou tout résultat AutoCloseable) est fermé à la fin.
+     *
+     * @param etag L'ETag de @Versioned, ou null
+     */
+    private void writeStreamed(HttpServletRequest request, HttpServletResponse response, Object result,
+                               String etag) throws IOException {
+        String accept = request.getHeader("Accept");
+        boolean ndjson = accept != null && accept.contains("application/x-ndjson");
+        response.setContentType(ndjson ? "application/x-ndjson;charset=UTF-8" : "application/json;charset=UTF-8");
+        if (etag != null) {
+            response.setHeader("ETag", etag);
+        }
+
+        try (JsonWriter json = new JsonWriter(response.getOutputStream())) {
+            Iterator<?> it = result instanceof BaseStream<?, ?> stream ? stream.iterator()
+                    : result instanceof Iterator<?> iterator ? iterator
+                    : ((Iterable<?>) result).iterator();
+            if (!ndjson) {
+                json.beginObject();
+                json.name("data").beginArray();
+            }
+            long count = 0;
+            RuntimeException failure = null;
+            while (true) {
+                Object element;
+                // Seules les erreurs de la source sont rattrapées : le JSON écrit reste valide
+                try {
+                    if (!it.hasNext()) {
+                        break;
+                    }
+                    element = it.next();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    break;
+                }
+                json.writeValue(element);
+                if (ndjson) {
+                    json.newline();
+                }
+                if (++count % streamFlushEvery == 0) {
+                    json.flush();
+                }
+            }
+
+            if (failure != null) {
+                Log.error(" Erreur pendant l'envoi du résultat (" + count + " élément(s) envoyé(s)) :", failure);
+            }
+            if (ndjson) {
+                if (failure != null) {
+                    json.beginObject();
+                    streamFailure(json, failure);
+                    json.endObject().newline();
+                }
+            } else {
+                json.endArray();
+                json.name("count").value(count);
+                if (failure != null) {
+                    streamFailure(json, failure);
+                } else {
+                    json.name("status").value("success");
+                    json.name("code").value(200);
+                }
+                json.endObject();
+            }
+        } finally {
+            close(result);
+        }
+    }
+
+    private static void streamFailure(JsonWriter json, RuntimeException failure) throws IOException {
+        json.name("status").value("error");
+        json.name("code").value(500);
+        json.name("message").value(failure.getMessage() != null ? failure.getMessage() : failure.toString());
+    }
+
+    /**
+     * Ferme un résultat produit au fil de l'eau (Stream sur un curseur, un fichier, ...),
+     * y compris quand il n'est pas envoyé (timeout déjà répondu).
+     */
+    private static void close(Object result) {
+        if (result instanceof AutoCloseable closeable && isStreamed(result)) {
             try {
-                sb.append("\"").append(f.getName()).append("\":");
-                Object v = f.get(obj);
-                if (v instanceof String) {
-                    sb.append("\"").append(escapeJson((String) v)).append("\"");
-                } else if (v instanceof Number || v instanceof Boolean) {
-                    sb.append(v);
-                } else if (v instanceof List<?>) {
-                    sb.append("[");
-                    List<?> list = (List<?>) v;
-                    for (int j = 0; j < list.size(); j++) {
-                        sb.append(toJsonObject(list.get(j)));
-                        if (j < list.size() - 1) sb.append(",");
+                closeable.close();
+            } catch (Exception e) {
+                Log.warn("Fermeture du résultat impossible : {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Route @VirtualThread : le thread du conteneur est libéré (request.startAsync) et toute
+     * la route (liaison, contrôleur, rendu) s'exécute sur l'exécuteur bloquant.
+     */
+    private void dispatchBlocking(HttpServletRequest request, HttpServletResponse response, UrlPattern pattern,
+                                  String[] pathValues) throws IOException {
+        AsyncAnswer answered = new AsyncAnswer();
+        AsyncContext async = startAsync(request, response, pattern, answered);
+        try {
+            blockingExecutor.execute(() -> {
+                // Seul le thread qui a obtenu la réponse (answered) complète le contexte
+                boolean owned = false;
+                try {
+                    owned = handle(request, response, pattern, pathValues, async, answered);
+                } catch (Exception e) {
+                    owned = true;
+                    Log.error(" Erreur lors du rendu :", e);
+                } finally {
+                    if (pattern.bulkhead != null) {
+                        pattern.bulkhead.release();
+                    }
+                    try {
+                        if (owned) {
+                            complete(async, response);
+                        }
+                    } finally {
+                        answered.release();
                     }
-                    sb.append("]");
-                } else if (v instanceof Map<?, ?>) {
-                    sb.append(toJson((Map<String, Object>) v));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Servlet en cours d'arrêt
+            if (pattern.bulkhead != null) {
+                pattern.bulkhead.release();
+            }
+            if (answered.compareAndSet(false, true)) {
+                try {
+                    sendError(response, new HttpStatusException(503, "Service en cours d'arrêt"));
+                } finally {
+                    complete(async, response);
+                    answered.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Route dont le contrôleur retourne un CompletionStage : le thread du conteneur est libéré
+     * (request.startAsync) et la réponse est écrite quand le résultat est disponible.
+     */
+    private void dispatchAsync(HttpServletRequest request, HttpServletResponse response, UrlPattern pattern,
+                               CompletionStage<?> stage) {
+        AsyncAnswer answered = new AsyncAnswer();
+        AsyncContext async = startAsync(request, response, pattern, answered);
+
+        stage.whenComplete((result, error) -> {
+            // Le travail du contrôleur est terminé, même si le timeout a déjà répondu
+            if (pattern.bulkhead != null) {
+                pattern.bulkhead.release();
+            }
+            if (!answered.compareAndSet(false, true)) {
+                close(result);
+                return;
+            }
+            boolean dispatched = false;
+            try {
+                if (error != null) {
+                    sendServerError(response, unwrap(error));
                 } else {
-                    sb.append(toJsonObject(v));
+                    dispatched = render(request, response, pattern, result, async);
                 }
             } catch (Exception e) {
-                sb.append("null");
+                Log.error(" Erreur lors du rendu async :", e);
+            } finally {
+                try {
+                    if (!dispatched) {
+                        complete(async, response);
+                    }
+                } finally {
+                    answered.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Réponse d'une requête async : le premier arrivé (résultat, timeout ou erreur) l'obtient
+     * par compareAndSet(false, true). Le thread qui l'a obtenue appelle release() une fois la
+     * réponse complétée (ou confiée à une vue).
+     */
+    private static final class AsyncAnswer extends AtomicBoolean {
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        void release() {
+            released.countDown();
+        }
+
+        /**
+         * Attend que le thread propriétaire ait fini d'écrire la réponse.
+         */
+        void awaitRelease() {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Passe la requête en mode asynchrone avec le délai de la route.
+     * Le premier arrivé (résultat ou timeout) écrit la réponse : voir {@link AsyncAnswer}.
+     *
+     * Si le timeout (ou une erreur) survient alors que le résultat est déjà en cours d'écriture,
+     * le listener attend la fin de cette écriture : rendre la main sans complete() laisserait
+     * le conteneur terminer et recycler la réponse sous le thread qui écrit encore. Pour une
+     * réponse en flux (Stream), le thread du conteneur reste donc occupé jusqu'à la fin du flux.
+     */
+    private AsyncContext startAsync(HttpServletRequest request, HttpServletResponse response, UrlPattern pattern,
+                                    AsyncAnswer answered) {
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(pattern.asyncTimeout);
+
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (answered.compareAndSet(false, true)) {
+                    try {
+                        sendError(response, new HttpStatusException(503, "Délai dépassé (" + pattern.asyncTimeout + " ms)"));
+                    } finally {
+                        complete(async, response);
+                    }
+                } else {
+                    Log.debug("Délai dépassé pendant l'écriture de {}, attente de la fin", pattern.pattern);
+                    answered.awaitRelease();
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                Log.error(" Erreur async sur " + pattern.pattern, event.getThrowable());
+                if (!answered.compareAndSet(false, true)) {
+                    answered.awaitRelease();
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        return async;
+    }
+
+    /**
+     * Termine une requête async : fin du flux compressé éventuel, puis complete().
+     */
+    private static void complete(AsyncContext async, HttpServletResponse response) {
+        if (response instanceof CompressionResponse compressed) {
+            try {
+                compressed.finish();
+            } catch (IOException e) {
+                Log.error(" Erreur lors de la compression :", e);
             }
-            if (i < fields.length - 1) sb.append(",");
-            i++;
         }
-        sb.append("}");
-        return sb.toString();
+        async.complete();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private void sendServerError(HttpServletResponse response, Throwable cause) throws IOException {
+        Log.error(" Erreur lors de l'invocation de la méthode :", cause);
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        PrintWriter out = writer(response);
+        out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
+        out.println("<h2>500 - Erreur lors de l'exécution</h2>");
+        out.println("<p><strong>Cause:</strong> " + cause.getMessage() + "</p>");
+        out.println("<pre>");
+        cause.printStackTrace(out);
+        out.println("</pre></body></html>");
+    }
+
+    private void sendError(HttpServletResponse response, HttpStatusException e) throws IOException {
+        Log.debug("Requête refusée ({}) : {}", e.getStatus(), e.getMessage());
+        response.setStatus(e.getStatus());
+        PrintWriter out = writer(response);
+        out.println("<!DOCTYPE html><html><head><meta charset='UTF-8'></head><body>");
+        out.println("<h2>" + e.getStatus() + " - " + e.getMessage() + "</h2>");
+        out.println("</body></html>");
     }
 
-    private String escapeJson(String s) {
-        return s.replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r");
+    /**
+     * getWriter() et getOutputStream() sont exclusifs : si le flux binaire a déjà été
+     * utilisé (réponse JSON), on écrit le texte par dessus en UTF-8.
+     */
+    private PrintWriter writer(HttpServletResponse response) throws IOException {
+        try {
+            return response.getWriter();
+        } catch (IllegalStateException e) {
+            return new PrintWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), true);
+        }
     }
-}
\ No newline at end of file
+}
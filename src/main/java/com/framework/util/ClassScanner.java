@@ -0,0 +1,220 @@
+package com.framework.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recherche des classes portant une annotation dans des packages (sous-packages compris).
+ *
+ * 1. Liste des fichiers .class (répertoires et JAR)
+ * 2. Filtre : le fichier est lu et on cherche le descripteur de l'annotation dans ses
+ *    octets (pool de constantes) ; une classe qui ne le contient pas n'est jamais chargée
+ * 3. Chargement sans initialisation (Class.forName(name, false, loader)) puis
+ *    vérification de l'annotation
+ *
+ * Les étapes 2 et 3 tournent en parallèle sur un ForkJoinPool dédié. La durée de chaque
+ * étape est journalisée.
+ */
+public final class ClassScanner {
+
+    private final ClassLoader classLoader;
+    private final int parallelism;
+
+    /**
+     * @param classLoader Le class loader de l'application
+     * @param parallelism Nombre de threads du scan (1 : séquentiel)
+     */
+    public ClassScanner(ClassLoader classLoader, int parallelism) {
+        this.classLoader = classLoader;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        byte[] read() throws IOException;
+    }
+
+    // Fichier .class à examiner : lu depuis un répertoire ou un JAR
+    private static final class Candidate {
+        final String className;
+        final Source source;
+
+        Candidate(String className, Source source) {
+            this.className = className;
+            this.source = source;
+        }
+    }
+
+    /**
+     * @param packages Les packages à parcourir, récursivement
+     * @param annotation L'annotation recherchée (rétention RUNTIME)
+     * @return Les classes annotées, non initialisées
+     */
+    public List<Class<?>> scan(List<String> packages, Class<? extends Annotation> annotation) throws IOException {
+        long start = System.nanoTime();
+        List<JarFile> jars = new ArrayList<>();
+        try {
+            List<Candidate> candidates = new ArrayList<>();
+            for (String packageName : packages) {
+                list(packageName, candidates, jars);
+            }
+            long listed = System.nanoTime();
+
+            byte[] marker = ("L" + annotation.getName().replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<String> matched = pool.submit(() -> candidates.parallelStream()
+                        .filter(candidate -> contains(candidate, marker))
+                        .map(candidate -> candidate.className)
+                        .distinct()
+                        .collect(Collectors.toList())).get();
+                long filtered = System.nanoTime();
+
+                List<Class<?>> classes = pool.submit(() -> matched.parallelStream()
+                        .map(this::load)
+                        .filter(Objects::nonNull)
+                        .filter(cls -> cls.isAnnotationPresent(annotation))
+                        .collect(Collectors.toList())).get();
+                long loaded = System.nanoTime();
+
+                Log.info(String.format("Scan de %s : %d fichier(s) .class, %d candidat(s), %d classe(s) @%s",
+                        packages, candidates.size(), matched.size(), classes.size(), annotation.getSimpleName()));
+                Log.info(String.format("Scan : listage %d ms, filtre %d ms, chargement %d ms (%d thread(s))",
+                        (listed - start) / 1_000_000, (filtered - listed) / 1_000_000,
+                        (loaded - filtered) / 1_000_000, parallelism));
+                return classes;
+            } catch (ExecutionException e) {
+                throw new IOException("Erreur pendant le scan de " + packages, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Scan de " + packages + " interrompu", e);
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            for (JarFile jar : jars) {
+                jar.close();
+            }
+        }
+    }
+
+    private void list(String packageName, List<Candidate> candidates, List<JarFile> jars) throws IOException {
+        String path = packageName.replace('.', '/');
+        Log.debug("Recherche dans le package : {}", packageName);
+
+        Enumeration<URL> resources = classLoader.getResources(path);
+        if (!resources.hasMoreElements()) {
+            Log.warn("⚠️ ATTENTION : Aucune ressource trouvée pour le package {}", packageName);
+            Log.warn("   Vérifiez que le JAR contient bien ce package");
+        }
+
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            String protocol = resource.getProtocol();
+            Log.debug("Ressource trouvée : {}", resource);
+
+            if (protocol.equals("file")) {
+                Path root = new File(URLDecoder.decode(resource.getFile(), StandardCharsets.UTF_8)).toPath();
+                listDirectory(root, packageName, candidates);
+            } else if (protocol.equals("jar")) {
+                String jarPath = resource.getPath();
+                if (jarPath.startsWith("file:")) {
+                    jarPath = jarPath.substring(5);
+                }
+                int separatorIndex = jarPath.indexOf("!");
+                if (separatorIndex != -1) {
+                    jarPath = jarPath.substring(0, separatorIndex);
+                }
+                jarPath = URLDecoder.decode(jarPath, StandardCharsets.UTF_8);
+                Log.debug("Lecture du JAR : {}", jarPath);
+
+                JarFile jar = new JarFile(jarPath);
+                jars.add(jar);
+                listJar(jar, path + "/", candidates);
+            }
+        }
+    }
+
+    private static void listDirectory(Path root, String packageName, List<Candidate> candidates) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(file -> isClassFile(file.getFileName().toString()))
+                    .forEach(file -> {
+                        String relative = root.relativize(file).toString().replace(File.separatorChar, '.');
+                        String className = packageName + '.' + relative.substring(0, relative.length() - 6);
+                        candidates.add(new Candidate(className, () -> Files.readAllBytes(file)));
+                    });
+        }
+    }
+
+    private static void listJar(JarFile jar, String prefix, List<Candidate> candidates) {
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            String entryName = entry.getName();
+            if (!entry.isDirectory() && entryName.startsWith(prefix)
+                    && isClassFile(entryName.substring(entryName.lastIndexOf('/') + 1))) {
+                String className = entryName.replace('/', '.').substring(0, entryName.length() - 6);
+                candidates.add(new Candidate(className, () -> {
+                    try (InputStream in = jar.getInputStream(entry)) {
+                        return in.readAllBytes();
+                    }
+                }));
+            }
+        }
+    }
+
+    private static boolean isClassFile(String fileName) {
+        return fileName.endsWith(".class") && !fileName.equals("module-info.class")
+                && !fileName.equals("package-info.class");
+    }
+
+    private static boolean contains(Candidate candidate, byte[] marker) {
+        byte[] bytes;
+        try {
+            bytes = candidate.source.read();
+        } catch (IOException e) {
+            Log.warn("   Lecture impossible : {} ({})", candidate.className, e.getMessage());
+            return false;
+        }
+        outer:
+        for (int i = 0, last = bytes.length - marker.length; i <= last; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (bytes[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private Class<?> load(String className) {
+        try {
+            Log.debug("  Chargement : {}", className);
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            Log.warn("   Classe non trouvée : {}", className);
+            return null;
+        }
+    }
+}
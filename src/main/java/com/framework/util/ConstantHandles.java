@@ -0,0 +1,87 @@
+package com.framework.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * MethodHandle constants pour les accès aux champs (JsonSerializer, JsonDeserializer,
+ * ParameterBinder), sur le modèle des invocateurs de routes (dispatcher.ConstantHandleInvoker).
+ *
+ * Un MethodHandle lu dans un champ d'instance n'est pas une constante pour le JIT : l'appel
+ * passe par l'adaptateur générique du handle, plus lent qu'un Field.get. La classe modèle
+ * d'un accesseur lit donc son handle dans un static final ({@link #classData}) ;
+ * {@link #instantiate} la redéfinit en classe cachée, une par champ, avec le handle du champ
+ * en "class data". Dans la classe modèle elle-même, le static final vaut null et l'accesseur
+ * se sert du handle passé à son constructeur.
+ */
+final class ConstantHandles {
+
+    private static final ClassValue<byte[]> TEMPLATES = new ClassValue<>() {
+        @Override
+        protected byte[] computeValue(Class<?> type) {
+            String name = type.getName();
+            try (InputStream in = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+                return in != null ? in.readAllBytes() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    };
+
+    // Après un premier échec (classe cachée refusée par l'environnement), plus de tentative
+    private static volatile boolean disabled;
+
+    private ConstantHandles() {
+    }
+
+    /**
+     * À appeler dans l'initialisation statique de la classe modèle, avec son propre lookup.
+     *
+     * @return Le handle de la classe cachée, ou null dans la classe modèle
+     */
+    static MethodHandle classData(MethodHandles.Lookup lookup) {
+        try {
+            return MethodHandles.classData(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Crée l'accesseur d'un champ : une instance de la copie cachée du modèle, ou à défaut
+     * du modèle lui-même (handle non constant).
+     *
+     * @param host Lookup de la classe qui déclare le modèle (la copie rejoint son nid)
+     * @param template La classe modèle
+     * @param handle Le handle du champ, constant dans la copie
+     * @param constructorType Le type du constructeur du modèle
+     * @param args Les arguments du constructeur
+     * @return L'accesseur
+     */
+    static Object instantiate(MethodHandles.Lookup host, Class<?> template, MethodHandle handle,
+                              MethodType constructorType, Object... args) {
+        byte[] bytes = TEMPLATES.get(template);
+        if (bytes != null && !disabled) {
+            try {
+                MethodHandles.Lookup hidden = host.defineHiddenClassWithClassData(bytes, handle, true,
+                        MethodHandles.Lookup.ClassOption.NESTMATE);
+                return hidden.findConstructor(hidden.lookupClass(), constructorType).invokeWithArguments(args);
+            } catch (Throwable t) {
+                disabled = true;
+                Log.warn("Classes cachées indisponibles, accès aux champs par MethodHandle non constant : {}",
+                        t.toString());
+            }
+        }
+        try {
+            return host.findConstructor(template, constructorType).invokeWithArguments(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Instanciation impossible : " + template.getName(), t);
+        }
+    }
+}
@@ -0,0 +1,909 @@
+package com.framework.util;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Désérialiseur JSON compilé pour un type, construit la première fois que le type est
+ * rencontré puis réutilisé par toutes les requêtes (pendant de {@link JsonSerializer}).
+ *
+ * Les valeurs sont lues au fil de l'eau depuis un {@link JsonReader} : seuls les objets
+ * cibles sont alloués. Types supportés :
+ * - String, primitifs et wrappers, char, BigDecimal, BigInteger, enums
+ * - tableaux (int[], long[] et double[] sans boxing), List, Set, Collection, Iterable
+ * - Map à clés String (ou enum, Integer, Long)
+ * - Object : Map, List, String, Long, Double ou Boolean selon le JSON
+ * - classes avec un constructeur sans argument : pour chaque champ non statique, le
+ *   désérialiseur conserve un setter MethodHandle typé (int/long/double/boolean sans
+ *   boxing), constant pour le JIT (voir {@link ConstantHandles}), dans une table indexée
+ *   par le hash du nom ; les champs inconnus sont ignorés
+ *
+ * Un type non supporté (interface ou classe abstraite hors collections, classe sans
+ * constructeur sans argument, champ non modifiable) est refusé par {@link #forType}, ainsi
+ * que les types qu'il contient : IllegalArgumentException au démarrage (BindingPlan.compile)
+ * plutôt qu'à la première requête. Les échecs restants, propres à une valeur reçue, sont des
+ * {@link JsonReader.MalformedJsonException}.
+ */
+public abstract class JsonDeserializer {
+
+    private static final ConcurrentHashMap<Type, JsonDeserializer> CACHE = new ConcurrentHashMap<>();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * @param type Le type cible, éventuellement générique (ex: List&lt;Emp&gt;)
+     * @return Le désérialiseur du type (créé au premier appel, puis mis en cache)
+     * @throws IllegalArgumentException Si le type, ou un type qu'il contient, n'est pas supporté
+     */
+    public static JsonDeserializer forType(Type type) {
+        JsonDeserializer deserializer = CACHE.get(type);
+        if (deserializer == null) {
+            // Pas de computeIfAbsent : la compilation d'un type peut en demander d'autres.
+            // En cache avant la résolution des types contenus : un type récursif (Emp.manager)
+            // s'y retrouve lui-même
+            deserializer = compile(type);
+            JsonDeserializer existing = CACHE.putIfAbsent(type, deserializer);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                deserializer.link();
+            } catch (RuntimeException e) {
+                CACHE.remove(type, deserializer);
+                throw e;
+            }
+        }
+        return deserializer;
+    }
+
+    /**
+     * Lit la valeur suivante du lecteur.
+     *
+     * @return La valeur convertie, ou null pour un null JSON
+     */
+    public final Object read(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return readValue(reader);
+    }
+
+    abstract Object readValue(JsonReader reader) throws IOException;
+
+    /**
+     * Résout les désérialiseurs des types contenus (éléments, valeurs, champs), une fois
+     * celui-ci en cache.
+     */
+    void link() {
+    }
+
+    // ========== Compilation ==========
+
+    private static JsonDeserializer compile(Type type) {
+        Class<?> raw = rawType(type);
+
+        if (raw == String.class) {
+            return new StringDeserializer();
+        }
+        if (raw == int.class || raw == Integer.class) {
+            return new IntegerDeserializer(Integer.MIN_VALUE, Integer.MAX_VALUE, raw);
+        }
+        if (raw == long.class || raw == Long.class) {
+            return new LongDeserializer();
+        }
+        if (raw == short.class || raw == Short.class) {
+            return new IntegerDeserializer(Short.MIN_VALUE, Short.MAX_VALUE, raw);
+        }
+        if (raw == byte.class || raw == Byte.class) {
+            return new IntegerDeserializer(Byte.MIN_VALUE, Byte.MAX_VALUE, raw);
+        }
+        if (raw == double.class || raw == Double.class) {
+            return new DoubleDeserializer(false);
+        }
+        if (raw == float.class || raw == Float.class) {
+            return new DoubleDeserializer(true);
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return new BooleanDeserializer();
+        }
+        if (raw == char.class || raw == Character.class) {
+            return new CharacterDeserializer();
+        }
+        if (raw == BigDecimal.class) {
+            return new BigDecimalDeserializer();
+        }
+        if (raw == BigInteger.class) {
+            return new BigIntegerDeserializer();
+        }
+        if (raw.isEnum()) {
+            return new EnumDeserializer(raw);
+        }
+        if (raw == Object.class) {
+            return new NaturalDeserializer();
+        }
+        if (raw.isArray()) {
+            Class<?> component = raw.getComponentType();
+            if (component == int.class) {
+                return new IntArrayDeserializer();
+            }
+            if (component == long.class) {
+                return new LongArrayDeserializer();
+            }
+            if (component == double.class) {
+                return new DoubleArrayDeserializer();
+            }
+            Type componentType = type instanceof GenericArrayType generic
+                    ? generic.getGenericComponentType() : component;
+            return new ArrayDeserializer(component, componentType);
+        }
+        if (Collection.class.isAssignableFrom(raw) || raw == Iterable.class) {
+            return new CollectionDeserializer(raw, typeArgument(type, 0));
+        }
+        if (Map.class.isAssignableFrom(raw)) {
+            return new MapDeserializer(raw, typeArgument(type, 0), typeArgument(type, 1));
+        }
+        return ObjectDeserializer.compile(raw);
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> cls) {
+            return cls;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        if (type instanceof GenericArrayType array) {
+            return Array.newInstance(rawType(array.getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType wildcard) {
+            return rawType(wildcard.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            return rawType(variable.getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType parameterized) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (index < arguments.length) {
+                return arguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    // Constructeur sans argument, typé ()Object, ou null
+    private static MethodHandle constructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Collection ou Map sans constructeur utilisable : l'implémentation de repli doit convenir
+    private static void checkFallback(Class<?> type, MethodHandle constructor, Class<?> fallback) {
+        if (constructor == null && !type.isAssignableFrom(fallback)) {
+            throw new IllegalArgumentException("Type non désérialisable : " + type.getName()
+                    + " (constructeur sans argument requis)");
+        }
+    }
+
+    // Une exception du constructeur (validation, ...) est propre à la valeur reçue
+    private static Object newInstance(MethodHandle constructor, Class<?> type) throws IOException {
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new JsonReader.MalformedJsonException("Instanciation impossible : " + type.getName(), t);
+        }
+    }
+
+    // ========== Scalaires ==========
+
+    private static final class StringDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            return reader.nextString();
+        }
+    }
+
+    private static final class IntegerDeserializer extends JsonDeserializer {
+        private final long min;
+        private final long max;
+        private final Class<?> type;
+
+        IntegerDeserializer(long min, long max, Class<?> type) {
+            this.min = min;
+            this.max = max;
+            this.type = type;
+        }
+
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            long value = reader.nextLong();
+            if (value < min || value > max) {
+                throw new JsonReader.MalformedJsonException("Valeur hors limites pour "
+                        + type.getSimpleName() + " : " + value);
+            }
+            if (max == Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return max == Short.MAX_VALUE ? (Object) (short) value : (Object) (byte) value;
+        }
+    }
+
+    private static final class LongDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            return reader.nextLong();
+        }
+    }
+
+    private static final class DoubleDeserializer extends JsonDeserializer {
+        private final boolean single;
+
+        DoubleDeserializer(boolean single) {
+            this.single = single;
+        }
+
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            double value = reader.nextDouble();
+            return single ? (Object) (float) value : (Object) value;
+        }
+    }
+
+    private static final class BooleanDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            return reader.nextBoolean();
+        }
+    }
+
+    private static final class CharacterDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            String value = reader.nextString();
+            if (value.length() != 1) {
+                throw new JsonReader.MalformedJsonException("Caractère attendu : \"" + value + "\"");
+            }
+            return value.charAt(0);
+        }
+    }
+
+    private static final class BigDecimalDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            String value = reader.nextString();
+            try {
+                return new BigDecimal(value.trim());
+            } catch (NumberFormatException e) {
+                throw new JsonReader.MalformedJsonException("Nombre attendu : \"" + value + "\"");
+            }
+        }
+    }
+
+    private static final class BigIntegerDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            String value = reader.nextString();
+            try {
+                return new BigDecimal(value.trim()).toBigIntegerExact();
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new JsonReader.MalformedJsonException("Nombre entier attendu : \"" + value + "\"");
+            }
+        }
+    }
+
+    private static final class EnumDeserializer extends JsonDeserializer {
+        private final Object[] constants;
+
+        EnumDeserializer(Class<?> type) {
+            this.constants = type.getEnumConstants();
+        }
+
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            String value = reader.nextString();
+            for (Object constant : constants) {
+                if (((Enum<?>) constant).name().equals(value)) {
+                    return constant;
+                }
+            }
+            throw new JsonReader.MalformedJsonException("Valeur inconnue pour "
+                    + constants.getClass().getComponentType().getSimpleName() + " : \"" + value + "\"");
+        }
+    }
+
+    /**
+     * Type cible Object : la structure JSON décide (Map, List, String, Long, Double, Boolean).
+     */
+    private static final class NaturalDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT: {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextNameString();
+                        map.put(name, read(reader));
+                    }
+                    reader.endObject();
+                    return map;
+                }
+                case BEGIN_ARRAY: {
+                    List<Object> list = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        list.add(read(reader));
+                    }
+                    reader.endArray();
+                    return list;
+                }
+                case NUMBER:
+                    return reader.nextNumber();
+                case BOOLEAN:
+                    return reader.nextBoolean();
+                default:
+                    return reader.nextString();
+            }
+        }
+    }
+
+    // ========== Tableaux et collections ==========
+
+    private static final class IntArrayDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            int[] values = new int[16];
+            int count = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = reader.nextInt();
+            }
+            reader.endArray();
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+    }
+
+    private static final class LongArrayDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            long[] values = new long[16];
+            int count = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = reader.nextLong();
+            }
+            reader.endArray();
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+    }
+
+    private static final class DoubleArrayDeserializer extends JsonDeserializer {
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            double[] values = new double[16];
+            int count = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = reader.nextDouble();
+            }
+            reader.endArray();
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+    }
+
+    private static final class ArrayDeserializer extends JsonDeserializer {
+        private final Class<?> component;
+        private final Type componentType;
+        private JsonDeserializer element;
+
+        ArrayDeserializer(Class<?> component, Type componentType) {
+            this.component = component;
+            this.componentType = componentType;
+        }
+
+        @Override
+        void link() {
+            element = forType(componentType);
+        }
+
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            if (element == null) {
+                element = forType(componentType);
+            }
+            Object[] values = new Object[16];
+            int count = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = element.read(reader);
+            }
+            reader.endArray();
+
+            Object array = Array.newInstance(component, count);
+            if (!component.isPrimitive()) {
+                System.arraycopy(values, 0, array, 0, count);
+                return array;
+            }
+            for (int i = 0; i < count; i++) {
+                if (values[i] == null) {
+                    throw new JsonReader.MalformedJsonException("null dans un tableau de " + component.getName());
+                }
+                Array.set(array, i, values[i]);
+            }
+            return array;
+        }
+    }
+
+    private static final class CollectionDeserializer extends JsonDeserializer {
+        private final Class<?> type;
+        private final Type elementType;
+        private final MethodHandle constructor;
+        private JsonDeserializer element;
+
+        CollectionDeserializer(Class<?> type, Type elementType) {
+            this.type = type;
+            this.elementType = elementType;
+            this.constructor = constructor(type);
+            checkFallback(type, constructor, fallback(type));
+        }
+
+        @Override
+        void link() {
+            element = forType(elementType);
+        }
+
+        private static Class<?> fallback(Class<?> type) {
+            if (SortedSet.class.isAssignableFrom(type)) {
+                return TreeSet.class;
+            }
+            if (Set.class.isAssignableFrom(type)) {
+                return LinkedHashSet.class;
+            }
+            if (Queue.class.isAssignableFrom(type)) {
+                return ArrayDeque.class;
+            }
+            return ArrayList.class;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Collection<Object> create() throws IOException {
+            if (constructor != null) {
+                return (Collection<Object>) newInstance(constructor, type);
+            }
+            if (SortedSet.class.isAssignableFrom(type)) {
+                return new TreeSet<>();
+            }
+            if (Set.class.isAssignableFrom(type)) {
+                return new LinkedHashSet<>();
+            }
+            if (Queue.class.isAssignableFrom(type)) {
+                return new ArrayDeque<>();
+            }
+            return new ArrayList<>();
+        }
+
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            if (element == null) {
+                element = forType(elementType);
+            }
+            Collection<Object> values = create();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                values.add(element.read(reader));
+            }
+            reader.endArray();
+            return values;
+        }
+    }
+
+    private static final class MapDeserializer extends JsonDeserializer {
+        private final Class<?> type;
+        private final Class<?> keyType;
+        private final Type valueType;
+        private final MethodHandle constructor;
+        private JsonDeserializer value;
+
+        MapDeserializer(Class<?> type, Type keyType, Type valueType) {
+            this.type = type;
+            this.keyType = rawType(keyType);
+            this.valueType = valueType;
+            this.constructor = constructor(type);
+            checkFallback(type, constructor, SortedMap.class.isAssignableFrom(type) ? TreeMap.class : LinkedHashMap.class);
+            if (!this.keyType.isAssignableFrom(String.class) && this.keyType != Integer.class
+                    && this.keyType != Long.class && !this.keyType.isEnum()) {
+                throw new IllegalArgumentException("Clé de Map non supportée : " + this.keyType.getName());
+            }
+        }
+
+        @Override
+        void link() {
+            value = forType(valueType);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> create() throws IOException {
+            if (constructor != null) {
+                return (Map<Object, Object>) newInstance(constructor, type);
+            }
+            if (SortedMap.class.isAssignableFrom(type)) {
+                return new TreeMap<>();
+            }
+            return new LinkedHashMap<>();
+        }
+
+        private Object key(String name) throws IOException {
+            try {
+                if (keyType == Integer.class) {
+                    return Integer.valueOf(name);
+                }
+                if (keyType == Long.class) {
+                    return Long.valueOf(name);
+                }
+            } catch (NumberFormatException e) {
+                throw new JsonReader.MalformedJsonException("Clé numérique attendue : \"" + name + "\"");
+            }
+            if (keyType.isEnum()) {
+                for (Object constant : keyType.getEnumConstants()) {
+                    if (((Enum<?>) constant).name().equals(name)) {
+                        return constant;
+                    }
+                }
+                throw new JsonReader.MalformedJsonException("Clé inconnue pour "
+                        + keyType.getSimpleName() + " : \"" + name + "\"");
+            }
+            return name;
+        }
+
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            if (value == null) {
+                value = forType(valueType);
+            }
+            Map<Object, Object> map = create();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Object key = key(reader.nextNameString());
+                map.put(key, value.read(reader));
+            }
+            reader.endObject();
+            return map;
+        }
+    }
+
+    // ========== Objets ==========
+
+    private static final class ObjectDeserializer extends JsonDeserializer {
+        private final Class<?> type;
+        private final MethodHandle constructor;
+        // Table à adressage ouvert indexée par le hash du nom (taille puissance de 2)
+        private final FieldReader[] table;
+        private final int mask;
+
+        private ObjectDeserializer(Class<?> type, MethodHandle constructor, FieldReader[] table) {
+            this.type = type;
+            this.constructor = constructor;
+            this.table = table;
+            this.mask = table.length - 1;
+        }
+
+        static ObjectDeserializer compile(Class<?> type) {
+            MethodHandle constructor = constructor(type);
+            if (constructor == null) {
+                throw new IllegalArgumentException("Type non désérialisable : " + type.getName()
+                        + (type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                        ? " (interface ou classe abstraite)" : " (constructeur sans argument requis)"));
+            }
+            MethodHandles.Lookup lookup;
+            try {
+                lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            } catch (IllegalAccessException | RuntimeException e) {
+                lookup = null;
+            }
+
+            List<FieldReader> readers = new ArrayList<>();
+            for (Field f : type.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers()) || f.isSynthetic()) {
+                    continue;
+                }
+                readers.add(fieldReader(f, lookup));
+            }
+
+            int size = Integer.highestOneBit(Math.max(readers.size(), 1) * 2) * 2;
+            FieldReader[] table = new FieldReader[size];
+            for (FieldReader reader : readers) {
+                int i = reader.hash & (size - 1);
+                while (table[i] != null) {
+                    i = (i + 1) & (size - 1);
+                }
+                table[i] = reader;
+            }
+            return new ObjectDeserializer(type, constructor, table);
+        }
+
+        @Override
+        void link() {
+            for (FieldReader field : table) {
+                if (field != null) {
+                    field.link();
+                }
+            }
+        }
+
+        @Override
+        Object readValue(JsonReader reader) throws IOException {
+            Object obj = newInstance(constructor, type);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                reader.nextName();
+                FieldReader field = find(reader);
+                if (field == null) {
+                    reader.skipValue();
+                } else {
+                    field.read(obj, reader);
+                }
+            }
+            reader.endObject();
+            return obj;
+        }
+
+        private FieldReader find(JsonReader reader) {
+            int hash = reader.nameHash();
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                FieldReader field = table[i];
+                if (field == null || (field.hash == hash && reader.nameEquals(field.name))) {
+                    return field;
+                }
+            }
+        }
+    }
+
+    private static FieldReader fieldReader(Field f, MethodHandles.Lookup lookup) {
+        MethodHandle setter;
+        try {
+            if (lookup != null) {
+                setter = lookup.unreflectSetter(f);
+            } else {
+                f.setAccessible(true);
+                setter = MethodHandles.lookup().unreflectSetter(f);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Champ final ou module fermé : setter du champ rendu accessible (refusé pour un
+            // champ final de record ou de classe cachée)
+            try {
+                f.setAccessible(true);
+                setter = MethodHandles.lookup().unreflectSetter(f);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalArgumentException("Champ non modifiable : "
+                        + f.getDeclaringClass().getName() + "." + f.getName(), ex);
+            }
+        }
+
+        Class<?> type = f.getType();
+        String name = f.getName();
+        if (type == int.class) {
+            return longReader(name, setter, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        if (type == long.class) {
+            return longReader(name, setter, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        if (type == short.class) {
+            return longReader(name, setter, Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+        if (type == byte.class) {
+            return longReader(name, setter, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+        if (type == double.class || type == float.class) {
+            // Conversion double -> float par le setter
+            MethodHandle typed = MethodHandles.explicitCastArguments(setter,
+                    MethodType.methodType(void.class, Object.class, double.class));
+            return (FieldReader) ConstantHandles.instantiate(LOOKUP, DoubleFieldReader.class, typed,
+                    MethodType.methodType(void.class, String.class, MethodHandle.class), name, typed);
+        }
+        if (type == boolean.class) {
+            MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+            return (FieldReader) ConstantHandles.instantiate(LOOKUP, BooleanFieldReader.class, typed,
+                    MethodType.methodType(void.class, String.class, MethodHandle.class), name, typed);
+        }
+        MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (FieldReader) ConstantHandles.instantiate(LOOKUP, ObjectFieldReader.class, typed,
+                MethodType.methodType(void.class, String.class, MethodHandle.class, Type.class, boolean.class),
+                name, typed, f.getGenericType(), type.isPrimitive());
+    }
+
+    // Conversion long -> int/short/byte par le setter, après contrôle des bornes
+    private static FieldReader longReader(String name, MethodHandle setter, long min, long max) {
+        MethodHandle typed = MethodHandles.explicitCastArguments(setter,
+                MethodType.methodType(void.class, Object.class, long.class));
+        return (FieldReader) ConstantHandles.instantiate(LOOKUP, LongFieldReader.class, typed,
+                MethodType.methodType(void.class, String.class, MethodHandle.class, long.class, long.class),
+                name, typed, min, max);
+    }
+
+    private abstract static class FieldReader {
+        final String name;
+        final int hash;
+
+        FieldReader(String name) {
+            this.name = name;
+            this.hash = name.hashCode();
+        }
+
+        abstract void read(Object obj, JsonReader reader) throws IOException;
+
+        void link() {
+        }
+
+        // Un null JSON laisse un champ primitif à sa valeur par défaut
+        static boolean skipNull(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonReader.Token.NULL) {
+                reader.nextNull();
+                return true;
+            }
+            return false;
+        }
+
+        static IOException failure(String name, Throwable t) {
+            if (t instanceof Error error) {
+                throw error;
+            }
+            return new JsonReader.MalformedJsonException("Affectation impossible du champ " + name, t);
+        }
+    }
+
+    // Modèles des readers : une classe cachée par champ, setter en static final (null dans
+    // le modèle, qui se sert alors du setter reçu)
+
+    private static final class LongFieldReader extends FieldReader {
+        private static final MethodHandle SETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle setter;
+        private final long min;
+        private final long max;
+
+        LongFieldReader(String name, MethodHandle setter, long min, long max) {
+            super(name);
+            this.setter = setter;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void read(Object obj, JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return;
+            }
+            long value = reader.nextLong();
+            if (value < min || value > max) {
+                throw new JsonReader.MalformedJsonException("Valeur hors limites pour " + name + " : " + value);
+            }
+            try {
+                (SETTER != null ? SETTER : setter).invokeExact(obj, value);
+            } catch (Throwable t) {
+                throw failure(name, t);
+            }
+        }
+    }
+
+    private static final class DoubleFieldReader extends FieldReader {
+        private static final MethodHandle SETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle setter;
+
+        DoubleFieldReader(String name, MethodHandle setter) {
+            super(name);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(Object obj, JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return;
+            }
+            double value = reader.nextDouble();
+            try {
+                (SETTER != null ? SETTER : setter).invokeExact(obj, value);
+            } catch (Throwable t) {
+                throw failure(name, t);
+            }
+        }
+    }
+
+    private static final class BooleanFieldReader extends FieldReader {
+        private static final MethodHandle SETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle setter;
+
+        BooleanFieldReader(String name, MethodHandle setter) {
+            super(name);
+            this.setter = setter;
+        }
+
+        @Override
+        void read(Object obj, JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return;
+            }
+            boolean value = reader.nextBoolean();
+            try {
+                (SETTER != null ? SETTER : setter).invokeExact(obj, value);
+            } catch (Throwable t) {
+                throw failure(name, t);
+            }
+        }
+    }
+
+    private static final class ObjectFieldReader extends FieldReader {
+        private static final MethodHandle SETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle setter;
+        private final Type type;
+        private final boolean primitive;
+        // Résolu au premier usage : un type peut se contenir lui-même (Emp.manager)
+        private JsonDeserializer deserializer;
+
+        ObjectFieldReader(String name, MethodHandle setter, Type type, boolean primitive) {
+            super(name);
+            this.setter = setter;
+            this.type = type;
+            this.primitive = primitive;
+        }
+
+        @Override
+        void link() {
+            deserializer = forType(type);
+        }
+
+        @Override
+        void read(Object obj, JsonReader reader) throws IOException {
+            if (primitive && skipNull(reader)) {
+                return;
+            }
+            if (deserializer == null) {
+                deserializer = forType(type);
+            }
+            Object value = deserializer.read(reader);
+            try {
+                (SETTER != null ? SETTER : setter).invokeExact(obj, value);
+            } catch (Throwable t) {
+                throw failure(name, t);
+            }
+        }
+    }
+}
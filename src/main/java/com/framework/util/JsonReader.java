@@ -0,0 +1,810 @@
+package com.framework.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lecteur JSON en streaming (pull) : décode l'UTF-8 directement depuis l'InputStream
+ * (ex: request.getInputStream()), par blocs, dans un tampon d'octets réutilisé par thread.
+ *
+ * Aucun arbre n'est construit et le corps n'est jamais copié en String : seules les
+ * valeurs demandées (nextString, ...) allouent. Les noms de champs sont décodés dans un
+ * tampon de caractères interne et comparés sur place ({@link #nameEquals}).
+ *
+ * Exemple :
+ *   try (JsonReader json = new JsonReader(request.getInputStream(), maxBytes)) {
+ *       json.beginObject();
+ *       while (json.hasNext()) {
+ *           json.nextName();
+ *           if (json.nameEquals("id")) { id = json.nextInt(); } else { json.skipValue(); }
+ *       }
+ *       json.endObject();
+ *       json.endDocument();
+ *   }
+ */
+public class JsonReader implements AutoCloseable {
+
+    public static final int BUFFER_SIZE = 8192;
+
+    /** Profondeur d'imbrication maximale (protège la pile des lectures récursives). */
+    public static final int MAX_DEPTH = 256;
+
+    private static final int MAX_POOLED_CHARS = 1 << 16;
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    /**
+     * JSON mal formé, ou valeur d'un type inattendu.
+     */
+    public static class MalformedJsonException extends IOException {
+        public MalformedJsonException(String message) {
+            super(message);
+        }
+
+        public MalformedJsonException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Le flux dépasse la taille maximale autorisée.
+     */
+    public static class TooLargeException extends IOException {
+        public TooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    // Contextes de la pile
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int DANGLING_NAME = 6;
+
+    // 10^0 à 10^22 : puissances de dix exactes en double
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final class Buffers {
+        final byte[] bytes = new byte[BUFFER_SIZE];
+        char[] chars = new char[256];
+        int[] stack = new int[32];
+        boolean borrowed;
+    }
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final InputStream in;
+    private final long maxBytes;
+    private final Buffers pooled;
+    private final byte[] buffer;
+    private char[] chars;
+    private int position;
+    private int limit;
+    private long consumed;
+
+    private int[] stack;
+    private int depth;
+    private Token peeked;
+
+    // Dernière chaîne ou dernier nom décodé dans chars[0..length)
+    private int length;
+
+    // Dernier nombre lu : mantisse (18 chiffres au plus), exposant décimal, littéral dans chars
+    private long mantissa;
+    private int exponent;
+    private boolean negative;
+    private boolean integral;
+    private boolean exact;
+
+    /**
+     * @param in Le flux à lire (non fermé par {@link #close()})
+     */
+    public JsonReader(InputStream in) {
+        this(in, -1);
+    }
+
+    /**
+     * @param in Le flux à lire (non fermé par {@link #close()})
+     * @param maxBytes Nombre d'octets maximal à lire (-1 : illimité)
+     */
+    public JsonReader(InputStream in, long maxBytes) {
+        this.in = in;
+        this.maxBytes = maxBytes;
+        Buffers buffers = BUFFERS.get();
+        if (!buffers.borrowed) {
+            buffers.borrowed = true;
+            this.pooled = buffers;
+            this.buffer = buffers.bytes;
+            this.chars = buffers.chars;
+            this.stack = buffers.stack;
+        } else {
+            // Lecteur imbriqué sur le même thread : tampons dédiés
+            this.pooled = null;
+            this.buffer = new byte[BUFFER_SIZE];
+            this.chars = new char[256];
+            this.stack = new int[32];
+        }
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return Le type du prochain élément, sans le consommer
+     */
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        int c;
+        switch (stack[depth - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                return peeked = value(nextNonWhitespace());
+            case NONEMPTY_DOCUMENT:
+                if (nextNonWhitespace() != -1) {
+                    throw syntaxError("contenu après la fin du document");
+                }
+                return peeked = Token.END_DOCUMENT;
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                return peeked = c == ']' ? Token.END_ARRAY : value(c);
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("',' ou ']' attendu");
+                }
+                position++;
+                return peeked = value(nextNonWhitespace());
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (stack[depth - 1] == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("',' ou '}' attendu");
+                    }
+                    position++;
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("nom de champ attendu");
+                }
+                stack[depth - 1] = DANGLING_NAME;
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("':' attendu");
+                }
+                position++;
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return peeked = value(nextNonWhitespace());
+            default:
+                throw new IllegalStateException("Lecteur fermé");
+        }
+    }
+
+    private Token value(int c) throws IOException {
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                return Token.STRING;
+            case 't':
+            case 'f':
+                return Token.BOOLEAN;
+            case 'n':
+                return Token.NULL;
+            case -1:
+                throw syntaxError("fin du document inattendue");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return Token.NUMBER;
+                }
+                throw syntaxError("valeur attendue");
+        }
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        position++;
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        position++;
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        position++;
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        position++;
+        depth--;
+    }
+
+    /**
+     * Vérifie qu'il ne reste que des blancs après la valeur racine.
+     */
+    public void endDocument() throws IOException {
+        expect(Token.END_DOCUMENT);
+    }
+
+    /**
+     * @return true s'il reste un élément dans l'objet ou le tableau courant
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Lit le nom du champ suivant dans le tampon interne, sans allouer de String.
+     *
+     * @return La longueur du nom, en caractères
+     * @see #nameEquals(String)
+     */
+    public int nextName() throws IOException {
+        expect(Token.NAME);
+        position++;
+        readString();
+        return length;
+    }
+
+    /**
+     * @return Le nom du champ suivant, en String
+     */
+    public String nextNameString() throws IOException {
+        nextName();
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * @return true si le dernier nom lu par {@link #nextName()} est égal à name
+     */
+    public boolean nameEquals(String name) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Le hash du dernier nom lu, identique à String.hashCode()
+     */
+    public int nameHash() {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Lit une chaîne. Un nombre ou un booléen est accepté et retourné sous forme de texte.
+     */
+    public String nextString() throws IOException {
+        switch (peek()) {
+            case STRING:
+                position++;
+                readString();
+                break;
+            case NUMBER:
+                readNumber();
+                break;
+            case BOOLEAN:
+                return nextBoolean() ? "true" : "false";
+            default:
+                throw typeError("chaîne");
+        }
+        peeked = null;
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Lit un nombre entier. Une chaîne contenant un nombre est acceptée ("42").
+     */
+    public long nextLong() throws IOException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            String text = nextString();
+            try {
+                return Long.parseLong(text.trim());
+            } catch (NumberFormatException e) {
+                throw new MalformedJsonException("Nombre entier attendu : \"" + text + "\"");
+            }
+        }
+        if (token != Token.NUMBER) {
+            throw typeError("nombre");
+        }
+        readNumber();
+        peeked = null;
+        if (integral && exact) {
+            return negative ? -mantissa : mantissa;
+        }
+        try {
+            return new java.math.BigDecimal(chars, 0, length).longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new MalformedJsonException("Nombre entier attendu : " + new String(chars, 0, length));
+        }
+    }
+
+    /**
+     * Lit un nombre entier sur 32 bits.
+     */
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if (value != (int) value) {
+            throw new MalformedJsonException("Entier hors limites : " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Lit un nombre. Une chaîne contenant un nombre est acceptée ("2.5").
+     */
+    public double nextDouble() throws IOException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            String text = nextString();
+            try {
+                return Double.parseDouble(text.trim());
+            } catch (NumberFormatException e) {
+                throw new MalformedJsonException("Nombre attendu : \"" + text + "\"");
+            }
+        }
+        if (token != Token.NUMBER) {
+            throw typeError("nombre");
+        }
+        readNumber();
+        peeked = null;
+        return toDouble();
+    }
+
+    /**
+     * Lit un nombre sans type cible : Long s'il est entier et tient sur 64 bits, sinon Double.
+     */
+    public Number nextNumber() throws IOException {
+        if (peek() != Token.NUMBER) {
+            throw typeError("nombre");
+        }
+        readNumber();
+        peeked = null;
+        if (integral && exact) {
+            return negative ? -mantissa : mantissa;
+        }
+        if (!exact && length <= 20) {
+            // Entier de 19 chiffres : au-delà de la mantisse, mais peut-être sur 64 bits
+            try {
+                return Long.parseLong(new String(chars, 0, length));
+            } catch (NumberFormatException e) {
+                // Hors de long : double
+            }
+        }
+        return toDouble();
+    }
+
+    private double toDouble() {
+        // Chemin rapide exact : mantisse < 2^53 et puissance de dix exacte en double
+        if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(chars, 0, length));
+    }
+
+    /**
+     * Lit un booléen. Les chaînes "true" et "false" sont acceptées.
+     */
+    public boolean nextBoolean() throws IOException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            String text = nextString();
+            if (text.equals("true") || text.equals("false")) {
+                return text.equals("true");
+            }
+            throw new MalformedJsonException("Booléen attendu : \"" + text + "\"");
+        }
+        if (token != Token.BOOLEAN) {
+            throw typeError("booléen");
+        }
+        boolean value = buffer[position] == 't';
+        literal(value ? "true" : "false");
+        peeked = null;
+        return value;
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+        literal("null");
+    }
+
+    /**
+     * Saute la valeur suivante (objets et tableaux compris) sans rien allouer.
+     */
+    public void skipValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                return;
+            case BEGIN_ARRAY:
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+                return;
+            case STRING:
+                position++;
+                readString();
+                peeked = null;
+                return;
+            case NUMBER:
+                readNumber();
+                peeked = null;
+                return;
+            case BOOLEAN:
+                nextBoolean();
+                return;
+            case NULL:
+                nextNull();
+                return;
+            default:
+                throw syntaxError("valeur attendue");
+        }
+    }
+
+    /**
+     * @return Le nombre d'octets lus depuis le flux
+     */
+    public long getBytesRead() {
+        return consumed;
+    }
+
+    /**
+     * Rend les tampons au thread. Le flux n'est pas fermé.
+     */
+    @Override
+    public void close() {
+        if (pooled != null && depth >= 0) {
+            // Un tampon agrandi par une très longue chaîne n'est pas conservé
+            if (chars.length <= MAX_POOLED_CHARS) {
+                pooled.chars = chars;
+            }
+            pooled.stack = stack;
+            pooled.borrowed = false;
+        }
+        depth = -1;
+    }
+
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw new MalformedJsonException(expected + " attendu mais " + token + " trouvé" + where());
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) throws IOException {
+        if (depth == MAX_DEPTH + 1) {
+            throw syntaxError("imbrication trop profonde (max " + MAX_DEPTH + ")");
+        }
+        if (depth == stack.length) {
+            int[] grown = new int[depth * 2];
+            System.arraycopy(stack, 0, grown, 0, depth);
+            stack = grown;
+        }
+        stack[depth++] = scope;
+    }
+
+    // Lit la suite d'un literal (true, false, null) dont le premier octet est à position
+    private void literal(String expected) throws IOException {
+        for (int i = 0; i < expected.length(); i++) {
+            if (read() != expected.charAt(i)) {
+                throw syntaxError("'" + expected + "' attendu");
+            }
+        }
+        int next = peekByte();
+        if (next != -1 && isLiteralChar(next)) {
+            throw syntaxError("'" + expected + "' attendu");
+        }
+    }
+
+    // Décode une chaîne (guillemet ouvrant déjà consommé) dans chars[0..length)
+    private void readString() throws IOException {
+        int count = 0;
+        while (true) {
+            // Boucle rapide : ASCII sans échappement, directement depuis le tampon
+            while (position < limit) {
+                byte b = buffer[position];
+                if (b == '"' || b == '\\' || b < 0x20) {
+                    break;
+                }
+                if (count == chars.length) {
+                    chars = grow(chars, count);
+                }
+                chars[count++] = (char) b;
+                position++;
+            }
+            int c = read();
+            if (c == '"') {
+                length = count;
+                return;
+            }
+            if (count + 2 > chars.length) {
+                chars = grow(chars, count);
+            }
+            if (c == -1) {
+                throw syntaxError("chaîne non terminée");
+            } else if (c == '\\') {
+                chars[count++] = escape();
+            } else if (c < 0x20) {
+                throw syntaxError("caractère de contrôle dans une chaîne");
+            } else if (c < 0x80) {
+                // ASCII en fin de tampon : la boucle rapide reprend après le rechargement
+                chars[count++] = (char) c;
+            } else if ((c & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((c & 0x1F) << 6) | continuation());
+            } else if ((c & 0xF0) == 0xE0) {
+                chars[count++] = (char) (((c & 0x0F) << 12) | (continuation() << 6) | continuation());
+            } else if ((c & 0xF8) == 0xF0) {
+                int cp = ((c & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                if (cp < 0x10000 || cp > Character.MAX_CODE_POINT) {
+                    throw syntaxError("UTF-8 invalide");
+                }
+                chars[count++] = Character.highSurrogate(cp);
+                chars[count++] = Character.lowSurrogate(cp);
+            } else {
+                throw syntaxError("UTF-8 invalide");
+            }
+        }
+    }
+
+    private int continuation() throws IOException {
+        int c = read();
+        if ((c & 0xC0) != 0x80) {
+            throw syntaxError("UTF-8 invalide");
+        }
+        return c & 0x3F;
+    }
+
+    private char escape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int h = Character.digit(read(), 16);
+                    if (h < 0) {
+                        throw syntaxError("séquence \\u invalide");
+                    }
+                    value = (value << 4) | h;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("échappement invalide");
+        }
+    }
+
+    // Lit un nombre (grammaire JSON) : mantisse, exposant et littéral dans chars[0..length)
+    private void readNumber() throws IOException {
+        int count = 0;
+        long m = 0;
+        int digits = 0;
+        int exp = 0;
+        boolean lost = false;
+        boolean isIntegral = true;
+
+        int c = peekByte();
+        negative = c == '-';
+        if (negative) {
+            chars[count++] = '-';
+            position++;
+            c = peekByte();
+        }
+        if (c < '0' || c > '9') {
+            throw syntaxError("chiffre attendu");
+        }
+        boolean leadingZero = c == '0';
+        while (c >= '0' && c <= '9') {
+            if (count == chars.length) {
+                chars = grow(chars, count);
+            }
+            chars[count++] = (char) c;
+            position++;
+            if (digits < 18) {
+                m = m * 10 + (c - '0');
+                if (m != 0) {
+                    digits++;
+                }
+            } else {
+                lost = true;
+                exp++;
+            }
+            c = peekByte();
+        }
+        if (leadingZero && count - (negative ? 1 : 0) > 1) {
+            throw syntaxError("zéro non significatif");
+        }
+        if (c == '.') {
+            isIntegral = false;
+            chars = ensure(chars, count + 1);
+            chars[count++] = '.';
+            position++;
+            c = peekByte();
+            if (c < '0' || c > '9') {
+                throw syntaxError("chiffre attendu après '.'");
+            }
+            while (c >= '0' && c <= '9') {
+                if (count == chars.length) {
+                    chars = grow(chars, count);
+                }
+                chars[count++] = (char) c;
+                position++;
+                if (digits < 18) {
+                    m = m * 10 + (c - '0');
+                    exp--;
+                    if (m != 0) {
+                        digits++;
+                    }
+                } else if (c != '0') {
+                    lost = true;
+                }
+                c = peekByte();
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            isIntegral = false;
+            chars = ensure(chars, count + 2);
+            chars[count++] = (char) c;
+            position++;
+            c = peekByte();
+            boolean negativeExp = c == '-';
+            if (c == '-' || c == '+') {
+                chars[count++] = (char) c;
+                position++;
+                c = peekByte();
+            }
+            if (c < '0' || c > '9') {
+                throw syntaxError("chiffre attendu dans l'exposant");
+            }
+            int e = 0;
+            while (c >= '0' && c <= '9') {
+                if (count == chars.length) {
+                    chars = grow(chars, count);
+                }
+                chars[count++] = (char) c;
+                position++;
+                if (e < 100_000) {
+                    e = e * 10 + (c - '0');
+                }
+                c = peekByte();
+            }
+            exp += negativeExp ? -e : e;
+        }
+        if (c != -1 && isLiteralChar(c)) {
+            throw syntaxError("nombre invalide");
+        }
+        length = count;
+        mantissa = m;
+        exponent = exp;
+        exact = !lost;
+        integral = isIntegral && exp == 0;
+    }
+
+    private static boolean isLiteralChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '+' || c == '_';
+    }
+
+    private static char[] grow(char[] chars, int count) {
+        char[] grown = new char[Math.max(chars.length * 2, count + 2)];
+        System.arraycopy(chars, 0, grown, 0, count);
+        return grown;
+    }
+
+    private static char[] ensure(char[] chars, int capacity) {
+        return capacity <= chars.length ? chars : grow(chars, capacity);
+    }
+
+    // Premier octet non blanc, sans le consommer (-1 en fin de flux)
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = peekByte();
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int peekByte() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            position = limit = 0;
+            return false;
+        }
+        consumed += n;
+        if (maxBytes >= 0 && consumed > maxBytes) {
+            throw new TooLargeException("Corps JSON trop volumineux (max " + maxBytes + " octets)");
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    private MalformedJsonException typeError(String expected) throws IOException {
+        return new MalformedJsonException(expected + " attendu mais " + peek() + " trouvé" + where());
+    }
+
+    private MalformedJsonException syntaxError(String message) {
+        return new MalformedJsonException("JSON invalide : " + message + where());
+    }
+
+    private String where() {
+        return " (octet " + (consumed - limit + position) + ")";
+    }
+}
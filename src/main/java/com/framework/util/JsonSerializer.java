@@ -0,0 +1,283 @@
+package com.framework.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sérialiseur JSON compilé pour une classe, construit la première fois que la classe
+ * est rencontrée puis réutilisé par toutes les requêtes.
+ *
+ * Pour chaque champ non statique, le sérialiseur conserve :
+ * - le fragment UTF-8 déjà encodé et échappé "nom":
+ * - un getter MethodHandle typé, pour que les champs int/long/float/double/boolean
+ *   soient écrits sans boxing ; constant pour le JIT (voir {@link ConstantHandles}) : un
+ *   writer par champ, classe cachée copiée du writer de son type
+ */
+public final class JsonSerializer {
+
+    private static final ConcurrentHashMap<Class<?>, JsonSerializer> CACHE = new ConcurrentHashMap<>();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType WRITER_CONSTRUCTOR =
+            MethodType.methodType(void.class, byte[].class, MethodHandle.class);
+
+    private final FieldWriter[] fields;
+
+    private JsonSerializer(FieldWriter[] fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @param type La classe à sérialiser
+     * @return Le sérialiseur de la classe (créé au premier appel, puis mis en cache)
+     */
+    public static JsonSerializer forClass(Class<?> type) {
+        JsonSerializer serializer = CACHE.get(type);
+        if (serializer == null) {
+            serializer = CACHE.computeIfAbsent(type, JsonSerializer::compile);
+        }
+        return serializer;
+    }
+
+    /**
+     * Écrit l'objet sous la forme {"champ":valeur,...}.
+     */
+    public void write(Object obj, JsonWriter writer) throws IOException {
+        writer.beginObject();
+        for (FieldWriter field : fields) {
+            writer.encodedName(field.name);
+            field.write(obj, writer);
+        }
+        writer.endObject();
+    }
+
+    private static JsonSerializer compile(Class<?> type) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | RuntimeException e) {
+            lookup = null;
+        }
+
+        List<FieldWriter> writers = new ArrayList<>();
+        for (Field f : type.getDeclaredFields()) {
+            if (Modifier.isStatic(f.getModifiers()) || f.isSynthetic()) {
+                continue;
+            }
+            writers.add(fieldWriter(f, encodeName(f.getName()), lookup));
+        }
+        return new JsonSerializer(writers.toArray(new FieldWriter[0]));
+    }
+
+    private static byte[] encodeName(String name) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(bytes)) {
+            writer.value(name);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        bytes.write(':');
+        return bytes.toByteArray();
+    }
+
+    private static FieldWriter fieldWriter(Field f, byte[] name, MethodHandles.Lookup lookup) {
+        Class<?> type = f.getType();
+        MethodHandle getter = null;
+        try {
+            if (lookup != null) {
+                getter = lookup.unreflectGetter(f);
+            } else {
+                f.setAccessible(true);
+                getter = MethodHandles.lookup().unreflectGetter(f);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Champ inaccessible : sera écrit null
+        }
+        if (getter == null) {
+            return new NullFieldWriter(name);
+        }
+
+        if (type == int.class || type == short.class || type == byte.class || type == long.class) {
+            return constant(LongFieldWriter.class, name, getter, long.class);
+        }
+        if (type == double.class) {
+            return constant(DoubleFieldWriter.class, name, getter, double.class);
+        }
+        if (type == float.class) {
+            return constant(FloatFieldWriter.class, name, getter, float.class);
+        }
+        if (type == boolean.class) {
+            return constant(BooleanFieldWriter.class, name, getter, boolean.class);
+        }
+        if (type == String.class) {
+            return constant(StringFieldWriter.class, name, getter, String.class);
+        }
+        return constant(ObjectFieldWriter.class, name, getter, Object.class);
+    }
+
+    private static FieldWriter constant(Class<? extends FieldWriter> template, byte[] name, MethodHandle getter,
+                                        Class<?> valueType) {
+        MethodHandle typed = getter.asType(MethodType.methodType(valueType, Object.class));
+        return (FieldWriter) ConstantHandles.instantiate(LOOKUP, template, typed, WRITER_CONSTRUCTOR, name, typed);
+    }
+
+    private abstract static class FieldWriter {
+        final byte[] name;
+
+        FieldWriter(byte[] name) {
+            this.name = name;
+        }
+
+        abstract void write(Object obj, JsonWriter writer) throws IOException;
+    }
+
+    private static final class LongFieldWriter extends FieldWriter {
+        private static final MethodHandle GETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle getter;
+
+        LongFieldWriter(byte[] name, MethodHandle getter) {
+            super(name);
+            this.getter = getter;
+        }
+
+        @Override
+        void write(Object obj, JsonWriter writer) throws IOException {
+            long value;
+            try {
+                value = (long) (GETTER != null ? GETTER : getter).invokeExact(obj);
+            } catch (Throwable t) {
+                writer.nullValue();
+                return;
+            }
+            writer.value(value);
+        }
+    }
+
+    private static final class DoubleFieldWriter extends FieldWriter {
+        private static final MethodHandle GETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle getter;
+
+        DoubleFieldWriter(byte[] name, MethodHandle getter) {
+            super(name);
+            this.getter = getter;
+        }
+
+        @Override
+        void write(Object obj, JsonWriter writer) throws IOException {
+            double value;
+            try {
+                value = (double) (GETTER != null ? GETTER : getter).invokeExact(obj);
+            } catch (Throwable t) {
+                writer.nullValue();
+                return;
+            }
+            writer.value(value);
+        }
+    }
+
+    // float gardé tel quel : élargi en double, 0.2f s'écrirait 0.20000000298023224
+    private static final class FloatFieldWriter extends FieldWriter {
+        private static final MethodHandle GETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle getter;
+
+        FloatFieldWriter(byte[] name, MethodHandle getter) {
+            super(name);
+            this.getter = getter;
+        }
+
+        @Override
+        void write(Object obj, JsonWriter writer) throws IOException {
+            float value;
+            try {
+                value = (float) (GETTER != null ? GETTER : getter).invokeExact(obj);
+            } catch (Throwable t) {
+                writer.nullValue();
+                return;
+            }
+            writer.value(value);
+        }
+    }
+
+    private static final class BooleanFieldWriter extends FieldWriter {
+        private static final MethodHandle GETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle getter;
+
+        BooleanFieldWriter(byte[] name, MethodHandle getter) {
+            super(name);
+            this.getter = getter;
+        }
+
+        @Override
+        void write(Object obj, JsonWriter writer) throws IOException {
+            boolean value;
+            try {
+                value = (boolean) (GETTER != null ? GETTER : getter).invokeExact(obj);
+            } catch (Throwable t) {
+                writer.nullValue();
+                return;
+            }
+            writer.value(value);
+        }
+    }
+
+    private static final class StringFieldWriter extends FieldWriter {
+        private static final MethodHandle GETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle getter;
+
+        StringFieldWriter(byte[] name, MethodHandle getter) {
+            super(name);
+            this.getter = getter;
+        }
+
+        @Override
+        void write(Object obj, JsonWriter writer) throws IOException {
+            String value;
+            try {
+                value = (String) (GETTER != null ? GETTER : getter).invokeExact(obj);
+            } catch (Throwable t) {
+                value = null;
+            }
+            writer.value(value);
+        }
+    }
+
+    private static final class ObjectFieldWriter extends FieldWriter {
+        private static final MethodHandle GETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle getter;
+
+        ObjectFieldWriter(byte[] name, MethodHandle getter) {
+            super(name);
+            this.getter = getter;
+        }
+
+        @Override
+        void write(Object obj, JsonWriter writer) throws IOException {
+            Object value;
+            try {
+                value = (Object) (GETTER != null ? GETTER : getter).invokeExact(obj);
+            } catch (Throwable t) {
+                value = null;
+            }
+            writer.writeValue(value);
+        }
+    }
+
+    private static final class NullFieldWriter extends FieldWriter {
+        NullFieldWriter(byte[] name) {
+            super(name);
+        }
+
+        @Override
+        void write(Object obj, JsonWriter writer) throws IOException {
+            writer.nullValue();
+        }
+    }
+}
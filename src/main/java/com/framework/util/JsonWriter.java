@@ -0,0 +1,390 @@
+package com.framework.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.BaseStream;
+
+/**
+ * Générateur JSON en streaming : encode directement en UTF-8 dans un tampon d'octets
+ * réutilisé par thread, vidé par blocs dans l'OutputStream (ex: response.getOutputStream()).
+ *
+ * La mémoire utilisée par réponse est bornée par la taille du tampon, pas par la taille
+ * du JSON produit. Les virgules entre éléments sont gérées automatiquement.
+ *
+ * Exemple :
+ *   try (JsonWriter json = new JsonWriter(response.getOutputStream())) {
+ *       json.writeValue(ApiResponse.success(data));
+ *   }
+ */
+public class JsonWriter implements AutoCloseable {
+
+    public static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    /**
+     * Table d'échappement des caractères ASCII : 0 = à écrire tel quel,
+     * 'u' = séquence \\u00XX, sinon le caractère qui suit le backslash.
+     */
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+    private static final ThreadLocal<Boolean> BORROWED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final boolean pooled;
+    private int position;
+
+    // Pile des contextes ouverts : true si un élément a déjà été écrit à ce niveau
+    private boolean[] hasElement = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(OutputStream out) {
+        this.out = out;
+        if (!BORROWED.get()) {
+            BORROWED.set(Boolean.TRUE);
+            this.buffer = BUFFERS.get();
+            this.pooled = true;
+        } else {
+            // Writer imbriqué sur le même thread : tampon dédié
+            this.buffer = new byte[BUFFER_SIZE];
+            this.pooled = false;
+        }
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        writeByte('{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        writeByte('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        writeByte('[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        writeByte(']');
+        return this;
+    }
+
+    /**
+     * Écrit le nom d'un champ ("name":). Doit être suivi d'une valeur.
+     */
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        writeString(name);
+        writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        writeAscii(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        beforeValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeBytes(NULL);
+        } else {
+            writeAscii(Double.toString(value));
+        }
+        return this;
+    }
+
+    /**
+     * Écrit un float avec sa propre représentation décimale la plus courte (0.1f donne 0.1),
+     * et non celle du double élargi (0.10000000149011612).
+     */
+    public JsonWriter value(float value) throws IOException {
+        beforeValue();
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            writeBytes(NULL);
+        } else {
+            writeAscii(Float.toString(value));
+        }
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        writeBytes(NULL);
+        return this;
+    }
+
+    /**
+     * Sépare deux valeurs de premier niveau par un saut de ligne (NDJSON).
+     */
+    public JsonWriter newline() throws IOException {
+        writeByte('\n');
+        return this;
+    }
+
+    /**
+     * Écrit une valeur quelconque : null, String, Number, Boolean, Map, Iterable, Iterator,
+     * Stream (fermé après écriture), tableau, enum, ou objet (ses champs non statiques,
+     * via {@link JsonSerializer}).
+     */
+    public JsonWriter writeValue(Object value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof String str) {
+            return value(str);
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value(((Number) value).longValue());
+        }
+        if (value instanceof Double d) {
+            return value(d.doubleValue());
+        }
+        if (value instanceof Float f) {
+            return value(f.floatValue());
+        }
+        if (value instanceof Number) {
+            beforeValue();
+            writeAscii(value.toString());
+            return this;
+        }
+        if (value instanceof Boolean bool) {
+            return value(bool.booleanValue());
+        }
+        if (value instanceof Character || value instanceof Enum<?>) {
+            return value(value.toString());
+        }
+        if (value instanceof Map<?, ?> map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Iterable<?> iterable) {
+            beginArray();
+            Iterator<?> it = iterable.iterator();
+            while (it.hasNext()) {
+                writeValue(it.next());
+            }
+            return endArray();
+        }
+        if (value instanceof Iterator<?> it) {
+            beginArray();
+            while (it.hasNext()) {
+                writeValue(it.next());
+            }
+            return endArray();
+        }
+        if (value instanceof BaseStream<?, ?> stream) {
+            try (stream) {
+                return writeValue(stream.iterator());
+            }
+        }
+        if (value.getClass().isArray()) {
+            beginArray();
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                writeValue(Array.get(value, i));
+            }
+            return endArray();
+        }
+        // Pour les objets simples : sérialiseur compilé par classe
+        JsonSerializer.forClass(value.getClass()).write(value, this);
+        return this;
+    }
+
+    /**
+     * Écrit un nom de champ déjà encodé en UTF-8 et échappé, deux-points compris
+     * (voir {@link JsonSerializer}).
+     */
+    JsonWriter encodedName(byte[] encoded) throws IOException {
+        separator();
+        writeBytes(encoded);
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Vide le tampon dans l'OutputStream sous-jacent.
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Vide le tampon et le rend au pool du thread. L'OutputStream n'est pas fermé.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (pooled) {
+                BORROWED.set(Boolean.FALSE);
+            }
+        }
+    }
+
+    private void push() {
+        if (depth == hasElement.length) {
+            boolean[] grown = new boolean[depth * 2];
+            System.arraycopy(hasElement, 0, grown, 0, depth);
+            hasElement = grown;
+        }
+        hasElement[depth++] = false;
+    }
+
+    private void separator() throws IOException {
+        if (depth > 0) {
+            if (hasElement[depth - 1]) {
+                writeByte(',');
+            }
+            hasElement[depth - 1] = true;
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else {
+            separator();
+        }
+    }
+
+    private void writeString(String s) throws IOException {
+        writeByte('"');
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    writeByte(c);
+                } else if (escape == 'u') {
+                    writeUnicodeEscape(c);
+                } else {
+                    writeByte('\\');
+                    writeByte(escape);
+                }
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                ensure(4);
+                buffer[position++] = (byte) (0xF0 | (cp >> 18));
+                buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c) || c == 0x2028 || c == 0x2029) {
+                // Surrogate isolé (invalide en UTF-8) ou séparateurs de ligne JavaScript
+                writeUnicodeEscape(c);
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeUnicodeEscape(char c) throws IOException {
+        ensure(6);
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xF];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    private void writeAscii(String s) throws IOException {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            writeByte(s.charAt(i));
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            out.write(bytes);
+            return;
+        }
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.length - position < length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
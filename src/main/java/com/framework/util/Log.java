@@ -0,0 +1,410 @@
+package com.framework.util;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Logging du framework, asynchrone et filtré par niveau.
+ *
+ * - Le test de niveau est une simple lecture de champ volatile : un message désactivé
+ *   ne coûte ni formatage ni allocation (surcharges à 1, 2, 3 arguments, ou Supplier)
+ * - Les messages actifs sont déposés dans un ring buffer sans verrou, puis écrits
+ *   par un thread de fond ; si le buffer est plein, un message DEBUG/INFO est perdu
+ *   (compté) plutôt que de bloquer la requête, un WARN/ERROR est écrit directement
+ *
+ * Le niveau se règle avec framework.log.level (DEBUG, INFO, WARN, ERROR, OFF).
+ * Par défaut INFO : les traces du dispatch (DEBUG) sont désactivées en production.
+ *
+ * {@link #shutdown} arrête le thread de fond (destroy() de la servlet) : sans cela, il
+ * retiendrait le classloader de l'application après un undeploy. {@link #start} le réactive.
+ */
+public final class Log {
+
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF;
+
+        /**
+         * @param value Le nom du niveau (insensible à la casse)
+         * @param defaultLevel Le niveau à retourner si la valeur est absente ou invalide
+         */
+        public static Level parse(String value, Level defaultLevel) {
+            if (value != null) {
+                try {
+                    return Level.valueOf(value.trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    // Valeur inconnue : niveau par défaut
+                }
+            }
+            return defaultLevel;
+        }
+    }
+
+    private static final int CAPACITY = 8192;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private static volatile int threshold =
+            Level.parse(System.getProperty("framework.log.level"), Level.INFO).ordinal();
+
+    private static final RingBuffer BUFFER = new RingBuffer(CAPACITY);
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static volatile Thread writer;
+    // Après shutdown() : plus de thread de fond, les messages sont écrits directement
+    private static volatile boolean stopped;
+
+    private Log() {
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level.ordinal();
+    }
+
+    public static Level getLevel() {
+        return Level.values()[threshold];
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public static boolean isDebugEnabled() {
+        return Level.DEBUG.ordinal() >= threshold;
+    }
+
+    /**
+     * @return Le nombre de messages perdus parce que le buffer était plein
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    // --- DEBUG ---
+
+    public static void debug(String message) {
+        if (Level.DEBUG.ordinal() >= threshold) {
+            enqueue(Level.DEBUG, message, null);
+        }
+    }
+
+    public static void debug(String format, Object arg) {
+        if (Level.DEBUG.ordinal() >= threshold) {
+            enqueue(Level.DEBUG, format(format, arg, null, null, 1), null);
+        }
+    }
+
+    public static void debug(String format, Object arg1, Object arg2) {
+        if (Level.DEBUG.ordinal() >= threshold) {
+            enqueue(Level.DEBUG, format(format, arg1, arg2, null, 2), null);
+        }
+    }
+
+    public static void debug(String format, Object arg1, Object arg2, Object arg3) {
+        if (Level.DEBUG.ordinal() >= threshold) {
+            enqueue(Level.DEBUG, format(format, arg1, arg2, arg3, 3), null);
+        }
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (Level.DEBUG.ordinal() >= threshold) {
+            enqueue(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    // --- INFO ---
+
+    public static void info(String message) {
+        if (Level.INFO.ordinal() >= threshold) {
+            enqueue(Level.INFO, message, null);
+        }
+    }
+
+    public static void info(String format, Object arg) {
+        if (Level.INFO.ordinal() >= threshold) {
+            enqueue(Level.INFO, format(format, arg, null, null, 1), null);
+        }
+    }
+
+    public static void info(String format, Object arg1, Object arg2) {
+        if (Level.INFO.ordinal() >= threshold) {
+            enqueue(Level.INFO, format(format, arg1, arg2, null, 2), null);
+        }
+    }
+
+    // --- WARN ---
+
+    public static void warn(String message) {
+        if (Level.WARN.ordinal() >= threshold) {
+            enqueue(Level.WARN, message, null);
+        }
+    }
+
+    public static void warn(String format, Object arg) {
+        if (Level.WARN.ordinal() >= threshold) {
+            enqueue(Level.WARN, format(format, arg, null, null, 1), null);
+        }
+    }
+
+    public static void warn(String format, Object arg1, Object arg2) {
+        if (Level.WARN.ordinal() >= threshold) {
+            enqueue(Level.WARN, format(format, arg1, arg2, null, 2), null);
+        }
+    }
+
+    // --- ERROR ---
+
+    public static void error(String message) {
+        if (Level.ERROR.ordinal() >= threshold) {
+            enqueue(Level.ERROR, message, null);
+        }
+    }
+
+    public static void error(String message, Throwable throwable) {
+        if (Level.ERROR.ordinal() >= threshold) {
+            enqueue(Level.ERROR, message, throwable);
+        }
+    }
+
+    public static void error(String format, Object arg, Throwable throwable) {
+        if (Level.ERROR.ordinal() >= threshold) {
+            enqueue(Level.ERROR, format(format, arg, null, null, 1), throwable);
+        }
+    }
+
+    /**
+     * Attend que les messages en attente soient écrits (au plus timeoutMillis).
+     */
+    public static void flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        while (!BUFFER.isEmpty() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+
+    /**
+     * Réactive le thread de fond après un {@link #shutdown} (init() de la servlet) ;
+     * il est démarré au premier message.
+     */
+    public static synchronized void start() {
+        stopped = false;
+    }
+
+    /**
+     * Écrit les messages en attente puis arrête le thread de fond (au plus timeoutMillis).
+     * Les messages suivants sont écrits directement par le thread appelant.
+     */
+    public static void shutdown(long timeoutMillis) {
+        Thread thread;
+        synchronized (Log.class) {
+            stopped = true;
+            thread = writer;
+        }
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainStopped();
+    }
+
+    /**
+     * Après shutdown(), une fois le thread de fond retiré : écrit les messages restés dans
+     * le buffer. Le verrou de la classe fait de l'appelant l'unique consommateur.
+     */
+    private static synchronized void drainStopped() {
+        if (stopped && writer == null) {
+            while (BUFFER.poll(Log::write)) {
+                // écrit par poll
+            }
+        }
+    }
+
+    /**
+     * Remplace les {} du format par les arguments, dans l'ordre.
+     */
+    private static String format(String format, Object arg1, Object arg2, Object arg3, int count) {
+        StringBuilder sb = new StringBuilder(format.length() + 32);
+        int argIndex = 0;
+        int start = 0;
+        int found;
+        while (argIndex < count && (found = format.indexOf("{}", start)) != -1) {
+            sb.append(format, start, found);
+            Object arg = argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3;
+            sb.append(arg instanceof Object[] array ? Arrays.toString(array) : String.valueOf(arg));
+            argIndex++;
+            start = found + 2;
+        }
+        sb.append(format, start, format.length());
+        return sb.toString();
+    }
+
+    private static void enqueue(Level level, String message, Throwable throwable) {
+        String thread = Thread.currentThread().getName();
+        if (stopped || (writer == null && !startWriter())) {
+            write(level, System.currentTimeMillis(), thread, message, throwable);
+            return;
+        }
+        if (!BUFFER.offer(level, thread, message, throwable)) {
+            if (level.ordinal() >= Level.WARN.ordinal()) {
+                // Les avertissements et erreurs ne sont jamais perdus : écriture directe
+                write(level, System.currentTimeMillis(), thread, message, throwable);
+            } else {
+                DROPPED.incrementAndGet();
+            }
+        } else if (stopped) {
+            // shutdown() est passé entre le test ci-dessus et le dépôt : son dernier vidage a
+            // pu précéder ce message. Si le thread de fond s'est déjà retiré, on l'écrit ici
+            drainStopped();
+        }
+    }
+
+    /**
+     * @return false si le log a été arrêté (shutdown)
+     */
+    private static synchronized boolean startWriter() {
+        if (stopped) {
+            return false;
+        }
+        if (writer == null) {
+            Thread thread = new Thread(Log::drainLoop, "framework-log");
+            thread.setDaemon(true);
+            thread.start();
+            writer = thread;
+        }
+        return true;
+    }
+
+    private static void drainLoop() {
+        long idle = 0;
+        while (true) {
+            if (BUFFER.poll(Log::write)) {
+                idle = 0;
+            } else if (stopped && retire()) {
+                return;
+            } else {
+                // Attente progressive : réactif sous charge, quasi gratuit au repos
+                idle = Math.min(idle + 50_000L, 5_000_000L);
+                LockSupport.parkNanos(idle);
+            }
+        }
+    }
+
+    /**
+     * Buffer vidé après shutdown() : le thread de fond se retire, sauf si start() l'a réactivé
+     * ou qu'un message a été déposé depuis (une position réservée suffit : le producteur
+     * publie sa case, le thread de fond la lit au tour suivant).
+     */
+    private static synchronized boolean retire() {
+        if (!stopped || !BUFFER.isEmpty()) {
+            return false;
+        }
+        writer = null;
+        return true;
+    }
+
+    private static void write(Level level, long timeMillis, String thread, String message, Throwable throwable) {
+        PrintStream out = level.ordinal() >= Level.WARN.ordinal() ? System.err : System.out;
+        String time = LocalTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneId.systemDefault()).format(TIME);
+        out.println(time + " [" + thread + "] " + level + " " + message);
+        if (throwable != null) {
+            throwable.printStackTrace(out);
+        }
+        long dropped = DROPPED.getAndSet(0);
+        if (dropped > 0) {
+            System.err.println(time + " [framework-log] WARN " + dropped + " message(s) perdu(s) : buffer plein");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sink {
+        void write(Level level, long timeMillis, String thread, String message, Throwable throwable);
+    }
+
+    /**
+     * Ring buffer multi-producteurs / un consommateur, sans verrou.
+     * Chaque case porte un numéro de séquence : un producteur réserve une position par CAS,
+     * remplit la case puis publie la séquence ; le consommateur lit les cases publiées dans l'ordre.
+     */
+    private static final class RingBuffer {
+        private final int mask;
+        private final AtomicLongArray sequences;
+        private final Level[] levels;
+        private final long[] times;
+        private final String[] threads;
+        private final String[] messages;
+        private final Throwable[] throwables;
+        private final AtomicLong tail = new AtomicLong();
+        // Écrit uniquement par le thread consommateur ; volatile pour flush()
+        private volatile long head;
+
+        RingBuffer(int capacity) {
+            this.mask = capacity - 1;
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+            this.levels = new Level[capacity];
+            this.times = new long[capacity];
+            this.threads = new String[capacity];
+            this.messages = new String[capacity];
+            this.throwables = new Throwable[capacity];
+        }
+
+        boolean offer(Level level, String thread, String message, Throwable throwable) {
+            long position;
+            int slot;
+            while (true) {
+                position = tail.get();
+                slot = (int) position & mask;
+                long sequence = sequences.get(slot);
+                if (sequence == position) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        break;
+                    }
+                } else if (sequence < position) {
+                    return false;
+                }
+            }
+            levels[slot] = level;
+            times[slot] = System.currentTimeMillis();
+            threads[slot] = thread;
+            messages[slot] = message;
+            throwables[slot] = throwable;
+            sequences.lazySet(slot, position + 1);
+            return true;
+        }
+
+        boolean poll(Sink sink) {
+            int slot = (int) head & mask;
+            if (sequences.get(slot) != head + 1) {
+                return false;
+            }
+            Level level = levels[slot];
+            long time = times[slot];
+            String thread = threads[slot];
+            String message = messages[slot];
+            Throwable throwable = throwables[slot];
+            threads[slot] = null;
+            messages[slot] = null;
+            throwables[slot] = null;
+            sequences.lazySet(slot, head + mask + 1);
+            head++;
+            sink.write(level, time, thread, message, throwable);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return head == tail.get();
+        }
+    }
+}
@@ -2,8 +2,13 @@
 package com.framework.util;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Sprint 8: Utilitaire pour lier automatiquement les paramètres de requête HTTP aux objets Java
@@ -20,6 +25,17 @@ import java.util.*;
  */
 public class ParameterBinder {
 
+    private static final Map<Class<?>, Function<String, Object>> CONVERTERS = new ConcurrentHashMap<>();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Index maximal accepté dans prefix[index].attribut ; au-delà, le paramètre est ignoré.
+     * Limite fixe, indépendante de framework.body.maxFields : elle borne la taille du tableau
+     * lié (plus grand index + 1), quelle que soit la source des paramètres.
+     */
+    public static final int MAX_INDEX = 100_000;
+
     /**
      * Lie les paramètres de la requête HTTP aux paramètres de la méthode
      * 
@@ -29,18 +45,22 @@ public class ParameterBinder {
      */
     public static Object[] bindParameters(Parameter[] parameters, HttpServletRequest request) {
         Object[] args = new Object[parameters.length];
+        ParameterIndex index = null;
         
         for (int i = 0; i < parameters.length; i++) {
             Parameter param = parameters[i];
             Class<?> paramType = param.getType();
             String paramName = param.getName();
             
-            System.out.println("  Binding paramètre: " + paramName + " (type: " + paramType.getSimpleName() + ")");
+            Log.debug("  Binding paramètre: {} (type: {})", paramName, paramType.getSimpleName());
             
             try {
                 // Si c'est un tableau
                 if (paramType.isArray()) {
-                    args[i] = bindArray(paramType.getComponentType(), paramName, request);
+                    if (index == null) {
+                        index = new ParameterIndex(request, prefixes(parameters));
+                    }
+                    args[i] = bindArray(paramType.getComponentType(), paramName, index);
                 }
                 // Si c'est un type primitif ou String
                 else if (isPrimitiveOrWrapper(paramType) || paramType == String.class) {
@@ -48,10 +68,13 @@ public class ParameterBinder {
                 }
                 // Si c'est un objet complexe
                 else {
-                    args[i] = bindObject(paramType, paramName, request);
+                    if (index == null) {
+                        index = new ParameterIndex(request, prefixes(parameters));
+                    }
+                    args[i] = bindObject(paramType, paramName, index);
                 }
             } catch (Exception e) {
-                System.err.println("    Erreur lors du binding de " + paramName + ": " + e.getMessage());
+                Log.warn("    Erreur lors du binding de {}: {}", paramName, e.getMessage());
                 args[i] = null;
             }
         }
@@ -59,150 +82,352 @@ public class ParameterBinder {
         return args;
     }
 
+    /**
+     * @return Les noms des paramètres tableau ou objet : seuls préfixes à indexer
+     */
+    private static Set<String> prefixes(Parameter[] parameters) {
+        Set<String> prefixes = new HashSet<>();
+        for (Parameter param : parameters) {
+            Class<?> type = param.getType();
+            if (type.isArray() || !(isPrimitiveOrWrapper(type) || type == String.class)) {
+                prefixes.add(param.getName());
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * Index des paramètres de la requête, construit en une seule passe sur les noms.
+     * Chaque nom est découpé par préfixe :
+     * - prefix[index].attribut -> éléments du tableau "prefix", rangés par index
+     * - prefix.attribut -> attributs de l'objet "prefix"
+     * Chaque paramètre de la méthode récupère ensuite directement sa tranche.
+     *
+     * Seuls les préfixes d'un paramètre de la méthode sont indexés, et la place prise par
+     * un tableau reste proportionnelle au nombre de paramètres de la requête, quel que soit
+     * l'index envoyé (voir {@link Slice}).
+     */
+    private static final class ParameterIndex {
+        private final Map<String, Slice> slices = new HashMap<>();
+        private final Set<String> prefixes;
+        private final int denseLimit;
+
+        ParameterIndex(HttpServletRequest request, Set<String> prefixes) {
+            this.prefixes = prefixes;
+            Map<String, String[]> parameterMap = request.getParameterMap();
+            this.denseLimit = parameterMap.size();
+            for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+                String name = entry.getKey();
+                String[] values = entry.getValue();
+                String value = values != null && values.length > 0 ? values[0] : null;
+
+                int bracket = name.indexOf('[');
+                int dot = name.indexOf('.');
+
+                // Format: paramName[index].attribut (ex: emp[0].name, emp[1].salary)
+                if (bracket > 0 && (dot == -1 || bracket < dot)) {
+                    int indexEnd = name.indexOf(']', bracket);
+                    try {
+                        if (indexEnd == -1 || indexEnd + 2 > name.length() || name.charAt(indexEnd + 1) != '.') {
+                            throw new IllegalArgumentException();
+                        }
+                        Slice slice = slice(name.substring(0, bracket));
+                        if (slice == null) {
+                            continue;
+                        }
+                        int index = Integer.parseInt(name, bracket + 1, indexEnd, 10);
+                        String attributeName = name.substring(indexEnd + 2);
+                        slice.element(index, denseLimit).put(attributeName, value);
+                    } catch (RuntimeException e) {
+                        Log.debug("    Erreur parsing array parameter: {}", name);
+                    }
+                }
+                // Format: paramName.attribut (ex: dept.id, dept.name)
+                else if (dot > 0) {
+                    Slice slice = slice(name.substring(0, dot));
+                    if (slice != null) {
+                        slice.attributes().put(name.substring(dot + 1), value);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return La tranche du préfixe, ou null si aucun paramètre de la méthode ne le lie
+         */
+        private Slice slice(String prefix) {
+            Slice slice = slices.get(prefix);
+            if (slice == null) {
+                if (!prefixes.contains(prefix)) {
+                    return null;
+                }
+                slice = new Slice();
+                slices.put(prefix, slice);
+            }
+            return slice;
+        }
+
+        Slice get(String prefix) {
+            return slices.get(prefix);
+        }
+    }
+
+    private static final class Slice {
+        private Map<String, String> attributes;
+        // Éléments rangés par index (dense) ; null pour un index absent
+        private ArrayList<Map<String, String>> elements;
+        // Index inhabituellement grands (au moins le nombre de paramètres de la requête)
+        private TreeMap<Integer, Map<String, String>> sparse;
+
+        Map<String, String> attributes() {
+            if (attributes == null) {
+                attributes = new HashMap<>();
+            }
+            return attributes;
+        }
+
+        /**
+         * @param denseLimit Au-delà, l'élément est rangé dans une table creuse : un index
+         *                   isolé n'alloue pas une liste de cette taille
+         */
+        Map<String, String> element(int index, int denseLimit) {
+            if (index < 0 || index > MAX_INDEX) {
+                throw new IllegalArgumentException("index hors limites : " + index);
+            }
+            if (index >= denseLimit) {
+                if (sparse == null) {
+                    sparse = new TreeMap<>();
+                }
+                return sparse.computeIfAbsent(index, k -> new HashMap<>());
+            }
+            if (elements == null) {
+                elements = new ArrayList<>();
+            }
+            while (elements.size() <= index) {
+                elements.add(null);
+            }
+            Map<String, String> element = elements.get(index);
+            if (element == null) {
+                element = new HashMap<>();
+                elements.set(index, element);
+            }
+            return element;
+        }
+
+        /**
+         * @return La taille du tableau : plus grand index + 1
+         */
+        int size() {
+            if (sparse != null) {
+                return sparse.lastKey() + 1;
+            }
+            return elements != null ? elements.size() : 0;
+        }
+
+    }
+
     /**
      * Lie un tableau d'objets à partir des paramètres de la requête
      * Format attendu: paramName[0].attribut, paramName[1].attribut, etc.
      * 
      * @param componentType Le type des éléments du tableau
      * @param paramName Le nom du paramètre
-     * @param request La requête HTTP
+     * @param index L'index des paramètres de la requête
      * @return Un tableau d'objets
      */
-    private static Object bindArray(Class<?> componentType, String paramName, HttpServletRequest request) 
+    private static Object bindArray(Class<?> componentType, String paramName, ParameterIndex index) 
             throws Exception {
         
-        // Découvrir la taille du tableau en analysant les paramètres
-        Map<Integer, Map<String, String>> indexedParams = new HashMap<>();
-        
-        Enumeration<String> parameterNames = request.getParameterNames();
-        while (parameterNames.hasMoreElements()) {
-            String name = parameterNames.nextElement();
-            
-            // Format: paramName[index].attribut
-            // Exemple: emp[0].name, emp[1].salary
-            if (name.startsWith(paramName + "[")) {
-                try {
-                    int indexStart = name.indexOf('[') + 1;
-                    int indexEnd = name.indexOf(']');
-                    int index = Integer.parseInt(name.substring(indexStart, indexEnd));
-                    
-                    String attributeName = name.substring(indexEnd + 2); // +2 pour sauter "].
-                    String value = request.getParameter(name);
-                    
-                    indexedParams.computeIfAbsent(index, k -> new HashMap<>()).put(attributeName, value);
-                    
-                    System.out.println("    Array[" + index + "]." + attributeName + " = " + value);
-                } catch (Exception e) {
-                    System.err.println("    Erreur parsing array parameter: " + name);
-                }
-            }
-        }
-        
-        // Créer le tableau avec la bonne taille
-        int maxIndex = indexedParams.keySet().stream().max(Integer::compareTo).orElse(-1);
-        int arraySize = maxIndex + 1;
+        Slice slice = index.get(paramName);
+        int arraySize = slice != null ? slice.size() : 0;
         
         if (arraySize == 0) {
-            System.out.println("    Aucun élément trouvé pour le tableau " + paramName);
+            Log.debug("    Aucun élément trouvé pour le tableau {}", paramName);
             return Array.newInstance(componentType, 0);
         }
         
         Object array = Array.newInstance(componentType, arraySize);
+        ClassBinder binder = ClassBinder.forClass(componentType);
         
-        // Remplir chaque élément du tableau
-        for (Map.Entry<Integer, Map<String, String>> entry : indexedParams.entrySet()) {
-            int index = entry.getKey();
-            Map<String, String> attributes = entry.getValue();
-            
-            Object element = componentType.getDeclaredConstructor().newInstance();
-            populateObject(element, attributes);
-            
-            Array.set(array, index, element);
+        // Remplir chaque élément du tableau (index denses, puis creux)
+        if (slice.elements != null) {
+            for (int i = 0; i < slice.elements.size(); i++) {
+                Map<String, String> attributes = slice.elements.get(i);
+                if (attributes != null) {
+                    Array.set(array, i, bind(binder, attributes));
+                }
+            }
+        }
+        if (slice.sparse != null) {
+            for (Map.Entry<Integer, Map<String, String>> entry : slice.sparse.entrySet()) {
+                Array.set(array, entry.getKey(), bind(binder, entry.getValue()));
+            }
         }
         
-        System.out.println("    Tableau créé avec " + arraySize + " élément(s)");
+        Log.debug("    Tableau créé avec {} élément(s)", arraySize);
         return array;
     }
 
+    private static Object bind(ClassBinder binder, Map<String, String> attributes) throws Exception {
+        Object element = binder.newInstance();
+        binder.populate(element, attributes);
+        return element;
+    }
+
     /**
      * Lie un objet complexe à partir des paramètres de la requête
      * Format attendu: paramName.attribut
      * 
      * @param paramType Le type de l'objet
      * @param paramName Le nom du paramètre
-     * @param request La requête HTTP
+     * @param index L'index des paramètres de la requête
      * @return Un objet instancié et peuplé
      */
-    private static Object bindObject(Class<?> paramType, String paramName, HttpServletRequest request) 
+    private static Object bindObject(Class<?> paramType, String paramName, ParameterIndex index) 
             throws Exception {
         
-        Object obj = paramType.getDeclaredConstructor().newInstance();
-        Map<String, String> attributes = new HashMap<>();
+        ClassBinder binder = ClassBinder.forClass(paramType);
+        Object obj = binder.newInstance();
         
-        Enumeration<String> parameterNames = request.getParameterNames();
-        while (parameterNames.hasMoreElements()) {
-            String name = parameterNames.nextElement();
-            String value = request.getParameter(name);
-            
-            // Format: paramName.attribut
-            // Exemple: dept.id, dept.name
-            if (name.startsWith(paramName + ".")) {
-                String attributeName = name.substring(paramName.length() + 1);
-                attributes.put(attributeName, value);
-            }
+        Slice slice = index.get(paramName);
+        if (slice != null && slice.attributes != null) {
+            binder.populate(obj, slice.attributes);
         }
         
-        populateObject(obj, attributes);
-        
         return obj;
     }
 
     /**
-     * Remplit les attributs d'un objet à partir d'une map de valeurs
-     * 
-     * @param obj L'objet à remplir
-     * @param attributes Map des attributs (nom -> valeur)
+     * Binder compilé pour une classe, construit une seule fois puis mis en cache.
+     * Contient le constructeur sans argument et, pour chaque attribut (classes parentes
+     * comprises), un setter MethodHandle et le convertisseur adapté au type du field ; le
+     * setter est constant pour le JIT (voir {@link ConstantHandles}).
+     * Les binds suivants du même type ne font plus aucune recherche par réflexion.
      */
-    private static void populateObject(Object obj, Map<String, String> attributes) {
-        Class<?> clazz = obj.getClass();
-        
-        for (Map.Entry<String, String> entry : attributes.entrySet()) {
-            String attributeName = entry.getKey();
-            String value = entry.getValue();
-            
+    private static final class ClassBinder {
+        private static final Map<Class<?>, ClassBinder> CACHE = new ConcurrentHashMap<>();
+
+        private final Class<?> type;
+        private final MethodHandle constructor;
+        private final Map<String, FieldSetter> setters;
+
+        private ClassBinder(Class<?> type, MethodHandle constructor, Map<String, FieldSetter> setters) {
+            this.type = type;
+            this.constructor = constructor;
+            this.setters = setters;
+        }
+
+        static ClassBinder forClass(Class<?> type) {
+            ClassBinder binder = CACHE.get(type);
+            if (binder == null) {
+                binder = CACHE.computeIfAbsent(type, ClassBinder::compile);
+            }
+            return binder;
+        }
+
+        private static ClassBinder compile(Class<?> type) {
+            MethodHandle constructor = null;
             try {
-                // Chercher le setter correspondant
-                Field field = findField(clazz, attributeName);
-                
-                if (field != null) {
-                    field.setAccessible(true);
-                    Object convertedValue = convertValue(value, field.getType());
-                    field.set(obj, convertedValue);
-                } else {
-                    System.err.println("      Attribut non trouvé: " + attributeName);
+                constructor = lookup(type).findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+                // Pas de constructeur sans argument accessible : l'erreur sera levée à l'instanciation
+            }
+
+            // La classe la plus dérivée en premier : un field masque celui du parent
+            Map<String, FieldSetter> setters = new HashMap<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || setters.containsKey(field.getName())) {
+                        continue;
+                    }
+                    setters.put(field.getName(), FieldSetter.of(field));
+                }
+            }
+            return new ClassBinder(type, constructor, setters);
+        }
+
+        Object newInstance() throws Exception {
+            if (constructor == null) {
+                throw new NoSuchMethodException(type.getName() + ".<init>()");
+            }
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * Remplit les attributs d'un objet à partir d'une map de valeurs
+         * 
+         * @param obj L'objet à remplir
+         * @param attributes Map des attributs (nom -> valeur)
+         */
+        void populate(Object obj, Map<String, String> attributes) {
+            for (Map.Entry<String, String> entry : attributes.entrySet()) {
+                String attributeName = entry.getKey();
+                FieldSetter setter = setters.get(attributeName);
+
+                if (setter == null) {
+                    Log.debug("      Attribut non trouvé: {}", attributeName);
+                    continue;
+                }
+                try {
+                    setter.set(obj, entry.getValue());
+                } catch (Throwable e) {
+                    Log.debug("      Erreur lors de la population de {}: {}", attributeName, e.getMessage());
                 }
-            } catch (Exception e) {
-                System.err.println("      Erreur lors de la population de " + attributeName + ": " + e.getMessage());
             }
         }
     }
 
-    /**
-     * Cherche un field dans une classe (y compris les classes parentes)
-     * 
-     * @param clazz La classe
-     * @param fieldName Le nom du field
-     * @return Le field trouvé ou null
-     */
-    private static Field findField(Class<?> clazz, String fieldName) {
-        while (clazz != null) {
+    // Modèle : une classe cachée par field, setter en static final (null dans le modèle)
+    private static final class FieldSetter {
+        private static final MethodHandle SETTER = ConstantHandles.classData(MethodHandles.lookup());
+        private final MethodHandle setter;
+        private final Function<String, Object> converter;
+
+        private FieldSetter(MethodHandle setter, Function<String, Object> converter) {
+            this.setter = setter;
+            this.converter = converter;
+        }
+
+        static FieldSetter of(Field field) {
+            Function<String, Object> converter = converterFor(field.getType());
+            MethodHandle setter;
             try {
-                return clazz.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                clazz = clazz.getSuperclass();
+                setter = lookup(field.getDeclaringClass()).unreflectSetter(field);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Field final ou module fermé : setter du field rendu accessible
+                try {
+                    field.setAccessible(true);
+                    setter = MethodHandles.lookup().unreflectSetter(field);
+                } catch (IllegalAccessException | RuntimeException ex) {
+                    return new FieldSetter(null, converter);
+                }
             }
+            setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (FieldSetter) ConstantHandles.instantiate(LOOKUP, FieldSetter.class, setter,
+                    MethodType.methodType(void.class, MethodHandle.class, Function.class), setter, converter);
         }
-        return null;
+
+        void set(Object obj, String value) throws Throwable {
+            if (SETTER != null) {
+                SETTER.invokeExact(obj, converter.apply(value));
+                return;
+            }
+            if (setter == null) {
+                throw new IllegalAccessException("field non modifiable");
+            }
+            setter.invokeExact(obj, converter.apply(value));
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
     }
 
     /**
@@ -224,7 +449,7 @@ public class ParameterBinder {
             }
         }
         
-        System.out.println("    Primitive " + paramName + " = " + value);
+        Log.debug("    Primitive {} = {}", paramName, value);
         
         return convertValue(value, paramType);
     }
@@ -237,36 +462,61 @@ public class ParameterBinder {
      * @return La valeur convertie
      */
     private static Object convertValue(String value, Class<?> targetType) {
-        if (value == null || value.trim().isEmpty()) {
-            return getDefaultValue(targetType);
+        return converterFor(targetType).apply(value);
+    }
+
+    /**
+     * Retourne le convertisseur String -> type, choisi une seule fois par type puis mis en cache.
+     * Une valeur vide ou invalide donne la valeur par défaut du type.
+     * 
+     * @param targetType Le type cible
+     * @return Le convertisseur
+     */
+    private static Function<String, Object> converterFor(Class<?> targetType) {
+        Function<String, Object> converter = CONVERTERS.get(targetType);
+        if (converter == null) {
+            converter = CONVERTERS.computeIfAbsent(targetType, ParameterBinder::compileConverter);
         }
-        
-        try {
-            if (targetType == String.class) {
-                return value;
-            } else if (targetType == int.class || targetType == Integer.class) {
-                return Integer.parseInt(value);
-            } else if (targetType == long.class || targetType == Long.class) {
-                return Long.parseLong(value);
-            } else if (targetType == double.class || targetType == Double.class) {
-                return Double.parseDouble(value);
-            } else if (targetType == float.class || targetType == Float.class) {
-                return Float.parseFloat(value);
-            } else if (targetType == boolean.class || targetType == Boolean.class) {
-                return Boolean.parseBoolean(value);
-            } else if (targetType == short.class || targetType == Short.class) {
-                return Short.parseShort(value);
-            } else if (targetType == byte.class || targetType == Byte.class) {
-                return Byte.parseByte(value);
-            } else if (targetType == char.class || targetType == Character.class) {
-                return value.charAt(0);
-            }
-        } catch (Exception e) {
-            System.err.println("      Erreur de conversion: " + value + " -> " + targetType.getSimpleName());
-            return getDefaultValue(targetType);
+        return converter;
+    }
+
+    private static Function<String, Object> compileConverter(Class<?> targetType) {
+        Object defaultValue = getDefaultValue(targetType);
+        Function<String, Object> parser;
+
+        if (targetType == String.class) {
+            parser = value -> value;
+        } else if (targetType == int.class || targetType == Integer.class) {
+            parser = Integer::parseInt;
+        } else if (targetType == long.class || targetType == Long.class) {
+            parser = Long::parseLong;
+        } else if (targetType == double.class || targetType == Double.class) {
+            parser = Double::parseDouble;
+        } else if (targetType == float.class || targetType == Float.class) {
+            parser = Float::parseFloat;
+        } else if (targetType == boolean.class || targetType == Boolean.class) {
+            parser = Boolean::parseBoolean;
+        } else if (targetType == short.class || targetType == Short.class) {
+            parser = Short::parseShort;
+        } else if (targetType == byte.class || targetType == Byte.class) {
+            parser = Byte::parseByte;
+        } else if (targetType == char.class || targetType == Character.class) {
+            parser = value -> value.charAt(0);
+        } else {
+            parser = value -> null;
         }
-        
-        return null;
+
+        return value -> {
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return parser.apply(value);
+            } catch (Exception e) {
+                Log.debug("      Erreur de conversion: {} -> {}", value, targetType.getSimpleName());
+                return defaultValue;
+            }
+        };
     }
 
     /**
@@ -1,19 +1,85 @@
 package com.framework.util;
 
+import jakarta.servlet.http.Part;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * Fichier reçu en multipart.
+ *
+ * Un petit fichier (taille inférieure au seuil mémoire) est lu en mémoire. Un fichier
+ * plus gros reste dans le fichier temporaire du conteneur (Part) : il est lu en
+ * streaming via {@link #getInputStream()}, et {@link #getContent()} ne le charge en
+ * mémoire que si le contrôleur l'appelle. Pour l'enregistrer sur disque, utiliser
+ * {@link #transferTo(Path)}. Un UploadedFile adossé à un Part n'est valide que
+ * pendant la requête.
+ */
 public class UploadedFile {
+
+    /** Seuil mémoire par défaut : 64 Ko. */
+    public static final long DEFAULT_MEMORY_THRESHOLD = 64 * 1024;
+
+    /**
+     * Taille maximale d'un fichier reçu par le conteneur (@MultipartConfig du FrontServlet) :
+     * 50 Mo. Vérifiée pendant la réception, avant toute écriture complète sur disque.
+     */
+    public static final long MAX_FILE_SIZE = 50L * 1024 * 1024;
+
+    /** Taille maximale d'une requête multipart reçue par le conteneur : 100 Mo. */
+    public static final long MAX_REQUEST_SIZE = 100L * 1024 * 1024;
+
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
     private final String fieldName;
     private final String fileName;
     private final String contentType;
-    private final byte[] content;
+    private final Part part;
+    private final long size;
+    private byte[] content;
 
     public UploadedFile(String fieldName, String fileName, String contentType, byte[] content) {
         this.fieldName = fieldName;
         this.fileName = fileName;
         this.contentType = contentType;
         this.content = content;
+        this.part = null;
+        this.size = content != null ? content.length : 0;
+    }
+
+    private UploadedFile(String fieldName, Part part) {
+        this.fieldName = fieldName;
+        this.fileName = part.getSubmittedFileName();
+        this.contentType = part.getContentType();
+        this.part = part;
+        this.size = part.getSize();
+    }
+
+    /**
+     * Crée un UploadedFile à partir d'un Part.
+     *
+     * @param fieldName Le nom du champ
+     * @param part Le Part fourni par le conteneur
+     * @param memoryThreshold Taille jusqu'à laquelle le contenu est lu en mémoire
+     * @return Le fichier, en mémoire ou adossé au Part
+     */
+    public static UploadedFile fromPart(String fieldName, Part part, long memoryThreshold) throws IOException {
+        long partSize = part.getSize();
+        if (partSize >= 0 && partSize <= memoryThreshold) {
+            try (InputStream in = part.getInputStream()) {
+                return new UploadedFile(fieldName, part.getSubmittedFileName(), part.getContentType(), in.readAllBytes());
+            }
+        }
+        return new UploadedFile(fieldName, part);
     }
 
     public String getFieldName() {
@@ -28,10 +94,120 @@ public class UploadedFile {
         return contentType;
     }
 
+    /**
+     * @return La taille du fichier en octets
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true si le contenu est déjà en mémoire
+     */
+    public boolean isInMemory() {
+        return content != null;
+    }
+
+    /**
+     * @return Un flux sur le contenu, sans le charger en mémoire
+     */
+    public InputStream getInputStream() throws IOException {
+        if (content != null) {
+            return new ByteArrayInputStream(content);
+        }
+        return part.getInputStream();
+    }
+
+    /**
+     * Retourne le contenu complet. Pour un gros fichier, le contenu est lu au premier
+     * appel : préférer {@link #getInputStream()} pour ne pas le charger sur le heap.
+     */
     public byte[] getContent() {
+        if (content == null && part != null) {
+            try (InputStream in = part.getInputStream()) {
+                content = in.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException("Lecture du fichier " + fileName + " impossible", e);
+            }
+        }
         return content;
     }
 
+    /**
+     * Écrit le fichier à l'emplacement donné sans passer par un tableau sur le heap.
+     * Pour un fichier adossé au Part, le conteneur déplace si possible son fichier
+     * temporaire (Part.write) ; sinon la copie passe par FileChannel.transferFrom.
+     * Ne doit être appelé qu'une fois pour un fichier adossé au Part.
+     *
+     * @param target Le fichier de destination (écrasé s'il existe)
+     */
+    public void transferTo(Path target) throws IOException {
+        if (part != null && content == null) {
+            try {
+                part.write(target.toAbsolutePath().toString());
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Conteneur sans support des chemins absolus : copie par canal
+            }
+        }
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            transferTo(out);
+        }
+    }
+
+    /**
+     * Écrit le contenu dans un canal. Si le flux du conteneur est un fichier,
+     * FileChannel.transferTo délègue la copie au système (zero-copy).
+     *
+     * @param target Le canal de destination (non fermé)
+     * @return Le nombre d'octets écrits
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        if (content != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            return content.length;
+        }
+
+        try (InputStream in = part.getInputStream()) {
+            if (in instanceof FileInputStream fileIn) {
+                FileChannel source = fileIn.getChannel();
+                long position = source.position();
+                long count = source.size() - position;
+                long written = 0;
+                while (written < count) {
+                    written += source.transferTo(position + written, count - written, target);
+                }
+                return written;
+            }
+
+            ReadableByteChannel source = Channels.newChannel(in);
+            if (target instanceof FileChannel file) {
+                long written = 0;
+                long n;
+                while ((n = file.transferFrom(source, file.position() + written, TRANSFER_CHUNK)) > 0) {
+                    written += n;
+                }
+                file.position(file.position() + written);
+                return written;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            long written = 0;
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += target.write(buffer);
+                }
+                buffer.clear();
+            }
+            return written;
+        }
+    }
+
     public static byte[] readAllBytes(InputStream in) throws Exception {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         byte[] buffer = new byte[4096];
@@ -0,0 +1,133 @@
+package com.framework.dispatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.framework.annotation.RequestBody;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class BindingPlanTest {
+
+    static class Emp {
+        int id;
+        String nom;
+    }
+
+    static class Controller {
+        public void save(@RequestBody Emp emp) {
+        }
+
+        public void update(int id, String nom) {
+        }
+
+        public void runnable(Runnable action) {
+        }
+    }
+
+    private static Method method(String name) {
+        for (Method method : Controller.class.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static BindingPlan plan(String name, long maxBodySize) {
+        return BindingPlan.compile(method(name), List.of(), 0, maxBodySize);
+    }
+
+    /**
+     * Requête JSON minimale : seuls le type, la longueur et le corps sont renseignés.
+     */
+    private static HttpServletRequest request(String body, long contentLength) {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        ServletInputStream in = new ServletInputStream() {
+            @Override
+            public int read() {
+                return bytes.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return bytes.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return bytes.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+            }
+        };
+        Map<String, Object> answers = Map.of(
+                "getContentType", "application/json; charset=UTF-8",
+                "getContentLengthLong", contentLength,
+                "getInputStream", in);
+        return (HttpServletRequest) Proxy.newProxyInstance(BindingPlanTest.class.getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class}, (proxy, m, args) -> answers.get(m.getName()));
+    }
+
+    private static HttpServletRequest request(String body) {
+        return request(body, body.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static int status(BindingPlan plan, HttpServletRequest request) {
+        return assertThrows(HttpStatusException.class, () -> plan.bind(request, new String[0])).getStatus();
+    }
+
+    @Test
+    void corpsJson() {
+        Object[] args = plan("save", -1).bind(request("{\"id\":3,\"nom\":\"A\"}"), new String[0]);
+        Emp emp = (Emp) args[0];
+        assertEquals(3, emp.id);
+        assertEquals("A", emp.nom);
+
+        args = plan("update", -1).bind(request("{\"nom\":\"B\",\"autre\":[1],\"id\":5}"), new String[0]);
+        assertEquals(5, args[0]);
+        assertEquals("B", args[1]);
+    }
+
+    @Test
+    void jsonInvalideOuNonConvertible400() {
+        BindingPlan plan = plan("save", -1);
+        assertEquals(400, status(plan, request("{\"id\":")));
+        assertEquals(400, status(plan, request("{\"id\":1} x")));
+        assertEquals(400, status(plan, request("{\"id\":\"abc\"}")));
+        assertEquals(400, status(plan, request("{\"id\":2147483648}")));
+        assertEquals(400, status(plan, request("[".repeat(1000))));
+        assertEquals(400, status(plan("update", -1), request("[1,2]")));
+    }
+
+    @Test
+    void corpsTropVolumineux413() {
+        String body = "{\"id\":1,\"nom\":\"" + "x".repeat(100) + "\"}";
+        BindingPlan plan = plan("save", 50);
+        // Content-Length annoncé
+        assertEquals(413, status(plan, request(body)));
+        // Longueur inconnue (chunked) : limite appliquée pendant la lecture
+        assertEquals(413, status(plan, request(body, -1)));
+        assertNotNull(plan("save", body.length()).bind(request(body), new String[0])[0]);
+    }
+
+    @Test
+    void typeNonSupporteRefuseALaCompilation() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> plan("runnable", -1));
+        assertTrue(e.getMessage().contains("runnable"), e.getMessage());
+    }
+}
@@ -0,0 +1,114 @@
+package com.framework.dispatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FormBodyParserTest {
+
+    private static FormBodyParser.Form parse(String body) throws IOException {
+        return parse(body, StandardCharsets.UTF_8);
+    }
+
+    private static FormBodyParser.Form parse(String body, Charset charset) throws IOException {
+        return new FormBodyParser(-1, -1).parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.ISO_8859_1)), charset);
+    }
+
+    @Test
+    void champsSimples() throws IOException {
+        FormBodyParser.Form form = parse("nom=Rakoto&age=42");
+        assertEquals(2, form.size());
+        assertEquals("nom", form.getName(0));
+        assertEquals("Rakoto", form.getValue(0));
+        assertEquals("42", form.getFirst("age"));
+        assertNull(form.getFirst("inconnu"));
+    }
+
+    @Test
+    void valeursVidesEtSignesEgal() throws IOException {
+        FormBodyParser.Form form = parse("a=&b&c=x=y&&=v");
+        assertEquals("", form.getFirst("a"));
+        assertEquals("", form.getFirst("b"));
+        assertEquals("x=y", form.getFirst("c"));
+        assertEquals("v", form.getFirst(""));
+        assertEquals(4, form.size());
+        assertEquals(0, parse("").size());
+    }
+
+    @Test
+    void nomsRepetes() throws IOException {
+        FormBodyParser.Form form = parse("tag=a&x=1&tag=b&tag=c");
+        assertEquals("a", form.getFirst("tag"));
+        assertEquals(List.of("a", "b", "c"), form.getValues("tag"));
+        assertEquals(List.of(), form.getValues("y"));
+    }
+
+    @Test
+    void decodage() throws IOException {
+        FormBodyParser.Form form = parse("q=a+b%20c&e=%C3%A9t%C3%A9&%26=%3D&pct=100%25");
+        assertEquals("a b c", form.getFirst("q"));
+        assertEquals("été", form.getFirst("e"));
+        assertEquals("=", form.getFirst("&"));
+        assertEquals("100%", form.getFirst("pct"));
+        assertEquals("é", parse("e=%E9", StandardCharsets.ISO_8859_1).getFirst("e"));
+    }
+
+    @Test
+    void sequencesInvalidesGardeesTellesQuelles() throws IOException {
+        FormBodyParser.Form form = parse("a=%zz&b=%4&c=%&d=%4g");
+        assertEquals("%zz", form.getFirst("a"));
+        assertEquals("%4", form.getFirst("b"));
+        assertEquals("%", form.getFirst("c"));
+        assertEquals("%4g", form.getFirst("d"));
+    }
+
+    @Test
+    void sequencesCoupeesEntreDeuxLectures() throws IOException {
+        // Un octet par lecture : %XX et les séparateurs arrivent à cheval sur plusieurs blocs
+        byte[] body = "v=%C3%A9+x&w=%41".getBytes(StandardCharsets.US_ASCII);
+        InputStream in = new ByteArrayInputStream(body) {
+            @Override
+            public int read(byte[] b) {
+                return read(b, 0, 1);
+            }
+        };
+        FormBodyParser.Form form = new FormBodyParser(-1, -1).parse(in, StandardCharsets.UTF_8);
+        assertEquals("é x", form.getFirst("v"));
+        assertEquals("A", form.getFirst("w"));
+    }
+
+    @Test
+    void longsChampsEtBodyPlusGrandQueLeBloc() throws IOException {
+        String value = "x".repeat(20_000);
+        FormBodyParser.Form form = parse("a=" + value + "&b=1");
+        assertEquals(value, form.getFirst("a"));
+        assertEquals("1", form.getFirst("b"));
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            body.append(i == 0 ? "" : "&").append("f").append(i).append('=').append(i);
+        }
+        form = parse(body.toString());
+        assertEquals(1000, form.size());
+        assertEquals("999", form.getFirst("f999"));
+    }
+
+    @Test
+    void limites() throws IOException {
+        byte[] body = "a=1&b=2&c=3".getBytes(StandardCharsets.US_ASCII);
+        HttpStatusException tooLarge = assertThrows(HttpStatusException.class,
+                () -> new FormBodyParser(10, -1).parse(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        assertEquals(413, tooLarge.getStatus());
+        assertEquals(3, new FormBodyParser(body.length, 3).parse(new ByteArrayInputStream(body), StandardCharsets.UTF_8).size());
+
+        HttpStatusException tooMany = assertThrows(HttpStatusException.class,
+                () -> new FormBodyParser(-1, 2).parse(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        assertEquals(413, tooMany.getStatus());
+    }
+}
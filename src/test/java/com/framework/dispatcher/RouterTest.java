@@ -0,0 +1,94 @@
+package com.framework.dispatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.framework.annotation.HttpMethod;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RouterTest {
+
+    private static Router<String> router(String... patterns) {
+        Router<String> router = new Router<>();
+        for (String pattern : patterns) {
+            assertTrue(router.add(HttpMethod.GET, pattern, pattern));
+        }
+        return router;
+    }
+
+    private static void assertRoute(Router<String> router, String path, String pattern, String... values) {
+        Router.Match<String> match = router.match(HttpMethod.GET, path);
+        assertNotNull(match, path);
+        assertEquals(pattern, match.getHandler(), path);
+        assertArrayEquals(values, match.getValues(), path);
+    }
+
+    @Test
+    void litteralAvantMixteAvantVariable() {
+        Router<String> router = router("/emp/{id}", "/emp/{id}.json", "/emp/new");
+        assertRoute(router, "/emp/new", "/emp/new");
+        assertRoute(router, "/emp/7.json", "/emp/{id}.json", "7");
+        assertRoute(router, "/emp/7", "/emp/{id}", "7");
+        assertRoute(router, "/emp/new.json", "/emp/{id}.json", "new");
+    }
+
+    @Test
+    void retourArriereSiLaBrancheLitteraleEchoue() {
+        Router<String> router = router("/emp/new/edit", "/emp/{id}/dept");
+        assertRoute(router, "/emp/new/edit", "/emp/new/edit");
+        // "new" correspond au littéral, mais seule la variable mène à "/dept"
+        assertRoute(router, "/emp/new/dept", "/emp/{id}/dept", "new");
+        assertNull(router.match(HttpMethod.GET, "/emp/new/other"));
+    }
+
+    @Test
+    void capturesDansLOrdreDuPattern() {
+        Router<String> router = router("/emp/{id}/dept/{deptId}", "/file/{name}.{ext}", "/a/{x}-{y}/{z}");
+        assertRoute(router, "/emp/3/dept/9", "/emp/{id}/dept/{deptId}", "3", "9");
+        assertRoute(router, "/file/rapport.pdf", "/file/{name}.{ext}", "rapport", "pdf");
+        assertRoute(router, "/a/1-2/3", "/a/{x}-{y}/{z}", "1", "2", "3");
+        assertEquals(List.of("x", "y", "z"), Router.paramNames("/a/{x}-{y}/{z}"));
+    }
+
+    @Test
+    void capturesDUneBrancheAbandonneeEcrasees() {
+        Router<String> router = router("/{a}/{b}/x", "/{c}.json/y/z");
+        assertRoute(router, "/1.json/y/z", "/{c}.json/y/z", "1");
+        assertRoute(router, "/1.json/y/x", "/{a}/{b}/x", "1.json", "y");
+    }
+
+    @Test
+    void variableNonVide() {
+        Router<String> router = router("/emp/{id}", "/emp");
+        assertNull(router.match(HttpMethod.GET, "/emp/"));
+        assertRoute(router, "/emp", "/emp");
+        assertNull(router.match(HttpMethod.GET, "/emp/1/2"));
+    }
+
+    @Test
+    void methodeEtPrefixe() {
+        Router<String> router = router("/emp/{id}");
+        assertNull(router.match(HttpMethod.POST, "/emp/1"));
+        assertNull(router.match(HttpMethod.GET, "emp/1"));
+        assertTrue(router.add(HttpMethod.POST, "/emp/{id}", "post"));
+        assertEquals("post", router.match(HttpMethod.POST, "/emp/1").getHandler());
+    }
+
+    @Test
+    void racine() {
+        Router<String> router = router("/");
+        assertRoute(router, "/", "/");
+        assertNull(router.match(HttpMethod.GET, "/x"));
+    }
+
+    @Test
+    void premiereRouteConservee() {
+        Router<String> router = new Router<>();
+        assertTrue(router.add(HttpMethod.GET, "/emp/{id}", "premier"));
+        assertFalse(router.add(HttpMethod.GET, "/emp/{id}", "second"));
+        // Même forme, autre nom de variable : même route
+        assertFalse(router.add(HttpMethod.GET, "/emp/{code}", "troisieme"));
+        assertEquals(1, router.size());
+        assertEquals("premier", router.match(HttpMethod.GET, "/emp/1").getHandler());
+    }
+}
@@ -0,0 +1,141 @@
+package com.framework.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class JsonDeserializerTest {
+
+    enum Role { ADMIN, USER }
+
+    static class Emp {
+        int id;
+        long matricule;
+        double salaire;
+        boolean actif;
+        String nom;
+        Integer age;
+        BigDecimal prime;
+        Role role;
+        int[] notes;
+        List<String> tags;
+        Map<String, Integer> compteurs;
+        Emp manager;
+    }
+
+    // Noms dont les hash coïncident ("Aa" et "BB") : même case de départ dans la table
+    static class Collisions {
+        int Aa;
+        int BB;
+        int AaAa;
+        int BBBB;
+        int AaBB;
+    }
+
+    static class SansConstructeur {
+        final int id;
+
+        SansConstructeur(int id) {
+            this.id = id;
+        }
+    }
+
+    static class ChampNonSupporte {
+        Runnable action;
+    }
+
+    // Types génériques lus par réflexion
+    List<Emp> listOfEmp;
+    Set<Long> setOfLong;
+
+    private static Object read(Type type, String json) throws IOException {
+        try (JsonReader reader = new JsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            Object value = JsonDeserializer.forType(type).read(reader);
+            reader.endDocument();
+            return value;
+        }
+    }
+
+    @Test
+    void objetComplet() throws IOException {
+        Emp emp = (Emp) read(Emp.class, "{\"id\":7,\"matricule\":12345678901,\"salaire\":2500.5,\"actif\":true,"
+                + "\"nom\":\"Rakoto\",\"age\":null,\"prime\":\"12.30\",\"role\":\"ADMIN\",\"notes\":[1,2,3],"
+                + "\"tags\":[\"a\",\"b\"],\"compteurs\":{\"x\":1},\"manager\":{\"id\":1,\"nom\":\"Chef\"}}");
+        assertEquals(7, emp.id);
+        assertEquals(12345678901L, emp.matricule);
+        assertEquals(2500.5, emp.salaire);
+        assertTrue(emp.actif);
+        assertEquals("Rakoto", emp.nom);
+        assertNull(emp.age);
+        assertEquals(new BigDecimal("12.30"), emp.prime);
+        assertEquals(Role.ADMIN, emp.role);
+        assertArrayEquals(new int[] {1, 2, 3}, emp.notes);
+        assertEquals(List.of("a", "b"), emp.tags);
+        assertEquals(Map.of("x", 1), emp.compteurs);
+        assertEquals(1, emp.manager.id);
+        assertEquals("Chef", emp.manager.nom);
+        assertNull(emp.manager.manager);
+    }
+
+    @Test
+    void champsInconnusIgnores() throws IOException {
+        Emp emp = (Emp) read(Emp.class, "{\"inconnu\":{\"a\":[1,{\"b\":null}]},\"id\":3,\"Id\":4,\"nomX\":\"?\",\"nom\":\"A\"}");
+        assertEquals(3, emp.id);
+        assertEquals("A", emp.nom);
+    }
+
+    @Test
+    void tableDesNomsAvecCollisions() throws IOException {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        Collisions c = (Collisions) read(Collisions.class, "{\"BBBB\":4,\"Aa\":1,\"AaBB\":5,\"BB\":2,\"AaAa\":3,\"BBAa\":9}");
+        assertEquals(1, c.Aa);
+        assertEquals(2, c.BB);
+        assertEquals(3, c.AaAa);
+        assertEquals(4, c.BBBB);
+        assertEquals(5, c.AaBB);
+    }
+
+    @Test
+    void typesGeneriques() throws Exception {
+        Type listOfEmp = JsonDeserializerTest.class.getDeclaredField("listOfEmp").getGenericType();
+        @SuppressWarnings("unchecked")
+        List<Emp> emps = (List<Emp>) read(listOfEmp, "[{\"id\":1},null,{\"id\":2}]");
+        assertEquals(3, emps.size());
+        assertEquals(1, emps.get(0).id);
+        assertNull(emps.get(1));
+        assertEquals(2, emps.get(2).id);
+
+        Type setOfLong = JsonDeserializerTest.class.getDeclaredField("setOfLong").getGenericType();
+        assertEquals(Set.of(1L, 2L), read(setOfLong, "[1,2,2]"));
+
+        Object any = read(Object.class, "{\"a\":[1,2.5,\"x\",true,null]}");
+        assertEquals(Map.of("a", java.util.Arrays.asList(1L, 2.5, "x", true, null)), any);
+    }
+
+    @Test
+    void valeursRefusees() {
+        assertThrows(JsonReader.MalformedJsonException.class, () -> read(Emp.class, "{\"id\":2147483648}"));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> read(Emp.class, "{\"id\":1.5}"));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> read(Emp.class, "{\"role\":\"INCONNU\"}"));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> read(Emp.class, "{\"notes\":{}}"));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> read(Emp.class, "[]"));
+    }
+
+    @Test
+    void typesNonSupportesRefusesALaCompilation() {
+        assertThrows(IllegalArgumentException.class, () -> JsonDeserializer.forType(Runnable.class));
+        assertThrows(IllegalArgumentException.class, () -> JsonDeserializer.forType(Number.class));
+        assertThrows(IllegalArgumentException.class, () -> JsonDeserializer.forType(SansConstructeur.class));
+        assertThrows(IllegalArgumentException.class, () -> JsonDeserializer.forType(ChampNonSupporte.class));
+        // Échec non mis en cache : refusé à nouveau
+        assertThrows(IllegalArgumentException.class, () -> JsonDeserializer.forType(ChampNonSupporte.class));
+    }
+}
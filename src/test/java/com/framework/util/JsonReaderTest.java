@@ -0,0 +1,289 @@
+package com.framework.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class JsonReaderTest {
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static double readDouble(String json) throws IOException {
+        try (JsonReader reader = reader(json)) {
+            double value = reader.nextDouble();
+            reader.endDocument();
+            return value;
+        }
+    }
+
+    private static long readLong(String json) throws IOException {
+        try (JsonReader reader = reader(json)) {
+            long value = reader.nextLong();
+            reader.endDocument();
+            return value;
+        }
+    }
+
+    private static Number readNumber(String json) throws IOException {
+        try (JsonReader reader = reader(json)) {
+            return reader.nextNumber();
+        }
+    }
+
+    private static void assertMalformed(String json, String message) {
+        JsonReader.MalformedJsonException e = assertThrows(JsonReader.MalformedJsonException.class, () -> {
+            try (JsonReader reader = reader(json)) {
+                reader.skipValue();
+                reader.endDocument();
+            }
+        });
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    // Nombres
+
+    @Test
+    void cheminRapideIdentiqueAParseDouble() throws IOException {
+        // Mantisse < 2^53 et |exposant| <= 22 : multiplication ou division exacte
+        String[] literals = {"0", "-0", "1", "0.1", "0.3", "2.5", "-17.125", "123456.789", "1e22", "1e-22",
+                "9007199254740991", "4.35", "1.7976931348623157", "3.14159e10", "-6.02e-5", "0.000001"};
+        for (String literal : literals) {
+            assertEquals(Double.parseDouble(literal), readDouble(literal), literal);
+        }
+    }
+
+    @Test
+    void horsCheminRapideIdentiqueAParseDouble() throws IOException {
+        // Exposant hors de [-22, 22], mantisse >= 2^53 ou tronquée : repli sur Double.parseDouble
+        String[] literals = {"1e23", "1e-23", "9007199254740993", "1.7976931348623157e308", "4.9e-324",
+                "2.2250738585072014E-308", "1e400", "123456789012345678901234567890", "0.1000000000000000055511151231257827"};
+        for (String literal : literals) {
+            assertEquals(Double.parseDouble(literal), readDouble(literal), literal);
+        }
+    }
+
+    @Test
+    void nombresAleatoiresIdentiquesAParseDouble() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            String literal;
+            switch (i % 3) {
+                case 0:
+                    literal = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+                    break;
+                case 1:
+                    literal = random.nextInt(1_000_000) + "." + random.nextInt(1_000_000) + "e" + (random.nextInt(60) - 30);
+                    break;
+                default:
+                    literal = Long.toString(random.nextLong()) + "." + Math.abs(random.nextLong());
+                    break;
+            }
+            assertEquals(Double.parseDouble(literal), readDouble(literal), literal);
+        }
+    }
+
+    @Test
+    void mantisseTronqueeA18Chiffres() throws IOException {
+        // 19 chiffres : hors mantisse, relu exactement
+        assertEquals(1234567890123456789L, readLong("1234567890123456789"));
+        assertEquals(Long.MAX_VALUE, readLong("9223372036854775807"));
+        assertEquals(Long.MIN_VALUE, readLong("-9223372036854775808"));
+        assertEquals(999999999999999999L, readLong("999999999999999999"));
+        assertEquals(1234567890123456789L, readNumber("1234567890123456789"));
+        // Au-delà de 64 bits : Double pour nextNumber, erreur pour nextLong
+        assertEquals(9223372036854775808.0, readNumber("9223372036854775808"));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> readLong("9223372036854775808"));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> readLong("12345678901234567890"));
+        // Zéros de tête de la partie décimale : pas comptés dans les 18 chiffres
+        assertEquals(0.000000000000000000123456789012345678, readDouble("0.000000000000000000123456789012345678"));
+        // Zéros au-delà du 18e chiffre décimal : valeur exacte conservée
+        assertEquals(1.5, readDouble("1.50000000000000000000000"));
+        assertEquals(3L, readLong("3.000000000000000000000"));
+    }
+
+    @Test
+    void entiersExactsOuRefuses() throws IOException {
+        assertEquals(42L, readLong("42"));
+        assertEquals(-7L, readLong("-7"));
+        assertEquals(100L, readLong("1e2"));
+        assertEquals(12L, readLong("1.2e1"));
+        assertEquals(42L, readLong("\"42\""));
+        assertEquals(2.5, readDouble("\"2.5\""));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> readLong("1.5"));
+        assertThrows(JsonReader.MalformedJsonException.class, () -> readLong("\"abc\""));
+        assertEquals(42L, readNumber("42"));
+        assertEquals(4.2, readNumber("4.2"));
+    }
+
+    @Test
+    void nextIntVerifieLesLimites() throws IOException {
+        try (JsonReader reader = reader("[2147483647, -2147483648, 2147483648]")) {
+            reader.beginArray();
+            assertEquals(Integer.MAX_VALUE, reader.nextInt());
+            assertEquals(Integer.MIN_VALUE, reader.nextInt());
+            assertThrows(JsonReader.MalformedJsonException.class, reader::nextInt);
+        }
+    }
+
+    @Test
+    void zerosNonSignificatifsEtExposants() throws IOException {
+        assertEquals(0.5, readDouble("0.5"));
+        assertEquals(-0.5, readDouble("-0.5"));
+        assertEquals(0.0, readDouble("0e5"));
+        assertEquals(1500.0, readDouble("1.5E3"));
+        assertEquals(1500.0, readDouble("1.5e+3"));
+        assertEquals(0.0015, readDouble("1.5e-3"));
+        assertEquals(1.0, readDouble("1e0"));
+        assertEquals(Double.POSITIVE_INFINITY, readDouble("1e999999999"));
+        assertEquals(0.0, readDouble("1e-999999999"));
+        assertMalformed("01", "zéro non significatif");
+        assertMalformed("-01", "zéro non significatif");
+        assertMalformed("00", "zéro non significatif");
+        assertMalformed("1.", "chiffre attendu après '.'");
+        assertMalformed("1.e5", "chiffre attendu après '.'");
+        assertMalformed("1e", "exposant");
+        assertMalformed("1e+", "exposant");
+        assertMalformed("-", "chiffre attendu");
+        assertMalformed("12a", "nombre invalide");
+    }
+
+    // Noms
+
+    @Test
+    void nameHashIdentiqueAStringHashCode() throws IOException {
+        String[] names = {"", "a", "id", "firstName", "été", "é中", "a\\u0062c", "a\\nb", "😀"};
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < names.length; i++) {
+            json.append(i == 0 ? "" : ",").append('"').append(names[i]).append("\":").append(i);
+        }
+        json.append('}');
+        try (JsonReader reader = reader(json.toString())) {
+            reader.beginObject();
+            for (int i = 0; i < names.length; i++) {
+                reader.nextName();
+                String decoded = names[i].replace("\\u0062", "b").replace("\\n", "\n");
+                assertEquals(decoded.hashCode(), reader.nameHash(), decoded);
+                assertTrue(reader.nameEquals(decoded), decoded);
+                assertFalse(reader.nameEquals(decoded + "x"), decoded);
+                assertEquals(i, reader.nextInt());
+            }
+            reader.endObject();
+            reader.endDocument();
+        }
+    }
+
+    // Tampons
+
+    @Test
+    void lecteurImbriqueAvecTamponsDedies() throws IOException {
+        try (JsonReader outer = reader("{\"a\":\"externe\",\"b\":[1,2,3]}")) {
+            outer.beginObject();
+            assertEquals("a", outer.nextNameString());
+            // Le lecteur externe a déjà rempli son tampon : l'interne ne doit pas l'écraser
+            try (JsonReader inner = reader("{\"x\":\"interne interne interne\",\"y\":[9,8,7,6,5,4]}")) {
+                inner.beginObject();
+                assertEquals("x", inner.nextNameString());
+                assertEquals("interne interne interne", inner.nextString());
+                assertEquals("y", inner.nextNameString());
+                inner.skipValue();
+                inner.endObject();
+                inner.endDocument();
+            }
+            assertEquals("externe", outer.nextString());
+            assertEquals("b", outer.nextNameString());
+            outer.beginArray();
+            assertEquals(1, outer.nextInt());
+            assertEquals(2, outer.nextInt());
+            assertEquals(3, outer.nextInt());
+            outer.endArray();
+            outer.endObject();
+            outer.endDocument();
+        }
+        // Tampons rendus : un nouveau lecteur repart d'un état propre
+        try (JsonReader reader = reader("[true]")) {
+            reader.beginArray();
+            assertTrue(reader.nextBoolean());
+            reader.endArray();
+            reader.endDocument();
+        }
+    }
+
+    @Test
+    void documentPlusGrandQueLeTampon() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10_000; i++) {
+            json.append(i == 0 ? "" : ",").append("\"valeur-").append(i).append('"');
+        }
+        json.append(']');
+        try (JsonReader reader = reader(json.toString())) {
+            reader.beginArray();
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals("valeur-" + i, reader.nextString());
+            }
+            reader.endArray();
+            reader.endDocument();
+            assertTrue(reader.getBytesRead() > JsonReader.BUFFER_SIZE);
+        }
+    }
+
+    // Erreurs et limites
+
+    @Test
+    void jsonInvalide() {
+        assertMalformed("{\"a\" 1}", "");
+        assertMalformed("{\"a\":1,}", "");
+        assertMalformed("[1,]", "");
+        assertMalformed("[1 2]", "");
+        assertMalformed("\"non terminée", "");
+        assertMalformed("tru", "");
+        assertMalformed("{", "");
+        assertMalformed("", "");
+        assertMalformed("[1] [2]", "contenu après la fin du document");
+    }
+
+    @Test
+    void typeInattendu() {
+        assertThrows(JsonReader.MalformedJsonException.class, () -> {
+            try (JsonReader reader = reader("[1]")) {
+                reader.beginObject();
+            }
+        });
+        assertThrows(JsonReader.MalformedJsonException.class, () -> {
+            try (JsonReader reader = reader("{}")) {
+                reader.nextLong();
+            }
+        });
+    }
+
+    @Test
+    void profondeurMaximale() throws IOException {
+        String accepted = "[".repeat(JsonReader.MAX_DEPTH) + "]".repeat(JsonReader.MAX_DEPTH);
+        try (JsonReader reader = reader(accepted)) {
+            reader.skipValue();
+            reader.endDocument();
+        }
+        String refused = "[".repeat(JsonReader.MAX_DEPTH + 1) + "]".repeat(JsonReader.MAX_DEPTH + 1);
+        assertMalformed(refused, "imbrication trop profonde");
+    }
+
+    @Test
+    void tailleMaximale() throws IOException {
+        byte[] json = ("[" + "1,".repeat(100) + "1]").getBytes(StandardCharsets.US_ASCII);
+        assertThrows(JsonReader.TooLargeException.class, () -> {
+            try (JsonReader reader = new JsonReader(new ByteArrayInputStream(json), 100)) {
+                reader.skipValue();
+            }
+        });
+        try (JsonReader reader = new JsonReader(new ByteArrayInputStream(json), json.length)) {
+            reader.skipValue();
+            reader.endDocument();
+            assertEquals(json.length, reader.getBytesRead());
+        }
+    }
+}